@@ -0,0 +1,76 @@
+package com.example.challenge.assignment2;
+
+/*
+ Sliding window of one account's recent transactions, held in fixed-size ring buffers.
+ Entries older than the window are evicted on every access, and once the ring is full
+ the oldest entry is dropped, so memory per account never exceeds the configured cap.
+ Owned by a single engine worker thread; not thread-safe.
+*/
+final class AccountWindow {
+
+    private final long[] times;
+    private final double[] amounts;
+    private final String[] merchants;
+    private int head;  // index of the oldest entry
+    private int size;
+    private double amountSum;
+    private long lastSeen = Long.MIN_VALUE;
+
+    AccountWindow(int capacity) {
+        this.times = new long[capacity];
+        this.amounts = new double[capacity];
+        this.merchants = new String[capacity];
+    }
+
+    // Drops every entry at or before `cutoff` (epoch seconds).
+    void evictUpTo(long cutoff) {
+        while (size > 0 && times[head] <= cutoff) {
+            removeOldest();
+        }
+    }
+
+    void add(long time, double amount, String merchant) {
+        if (size == times.length) {
+            removeOldest();
+        }
+        int tail = (head + size) % times.length;
+        times[tail] = time;
+        amounts[tail] = amount;
+        merchants[tail] = merchant;
+        amountSum += amount;
+        size++;
+        lastSeen = Math.max(lastSeen, time);
+    }
+
+    int size() {
+        return size;
+    }
+
+    double mean() {
+        return size == 0 ? 0.0 : amountSum / size;
+    }
+
+    long lastSeen() {
+        return lastSeen;
+    }
+
+    int countMerchant(String merchant) {
+        int count = 0;
+        for (int i = 0, idx = head; i < size; i++, idx = (idx + 1) % times.length) {
+            if (merchant != null && merchant.equals(merchants[idx])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void removeOldest() {
+        amountSum -= amounts[head];
+        merchants[head] = null;
+        head = (head + 1) % times.length;
+        size--;
+        if (size == 0) {
+            amountSum = 0.0; // reset drift from repeated add/subtract
+        }
+    }
+}
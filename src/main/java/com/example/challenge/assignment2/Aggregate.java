@@ -0,0 +1,13 @@
+package com.example.challenge.assignment2;
+
+/*
+ Aggregate functions supported by AnalyticsQuery.
+ COUNT ignores the measure; the others are computed over it.
+*/
+public enum Aggregate {
+    SUM,
+    COUNT,
+    AVG,
+    MIN,
+    MAX
+}
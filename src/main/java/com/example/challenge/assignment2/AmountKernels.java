@@ -0,0 +1,41 @@
+package com.example.challenge.assignment2;
+
+/**
+ * Tight numeric loops over primitive amount columns.
+ *
+ * Two implementations exist: a plain scalar one and one built on the
+ * jdk.incubator.vector API. best() picks the vector kernels when the JVM was
+ * started with --add-modules jdk.incubator.vector and the CPU offers vectors
+ * of at least two doubles, and falls back to the scalar kernels otherwise.
+ * Both return the same results up to floating-point summation order.
+ */
+public interface AmountKernels {
+
+    // Sum of values[i] where mask[i] is true, Kahan-compensated like DoubleStream.sum().
+    double maskedSum(double[] values, boolean[] mask);
+
+    // Index of the largest value (first one on ties), or -1 for an empty array.
+    // NaN values are skipped; when every value is NaN the result is 0.
+    int indexOfMax(double[] values);
+
+    // Adds values[i] to sums[groupIds[i]] and counts each row; rows with group id -1 are skipped.
+    // Uses Kahan compensated summation, like Collectors.summingDouble, so group totals over
+    // millions of rows keep cent precision.
+    void groupedSum(double[] values, int[] groupIds, double[] sums, long[] counts);
+
+    String name();
+
+    static AmountKernels scalar() {
+        return ScalarAmountKernels.INSTANCE;
+    }
+
+    // Vector kernels, or null when the incubator module is not enabled or unusable on this CPU.
+    static AmountKernels vector() {
+        return KernelSelection.VECTOR;
+    }
+
+    static AmountKernels best() {
+        AmountKernels vector = vector();
+        return vector != null ? vector : scalar();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.challenge.assignment2;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP endpoint serving BankingAnalyticsService reports as JSON,
+ * built on the JDK's com.sun.net.httpserver.
+ *
+ * Endpoints (GET or HEAD):
+ *   /api/totals/category        /api/totals/city        /api/totals/payment-method
+ *   /api/fraud/total            /api/transactions/largest
+ *   /api/merchants/top?limit=N  /api/averages/age-band
+ *
+ * The dataset is loaded once and never changes while the server runs, so a
+ * response is fully determined by the dataset version and the request URI.
+ * That pair is the ETag: a matching If-None-Match gets 304 before any
+ * analytics run. Bodies are written with JsonWriter straight into the
+ * chunked response stream. Requests are handled on a fixed thread pool; the
+ * service is read-only, so handlers need no locking.
+ *
+ * Small chunked responses sit behind Nagle's algorithm for ~40 ms unless the
+ * JDK server sets TCP_NODELAY, which is the JVM-wide launch flag
+ * -Dsun.net.httpserver.nodelay=true (NODELAY_PROPERTY). This class does not set
+ * it; AnalyticsServerApp and AnalyticsLoadTest do, before the first server starts.
+ */
+public class AnalyticsHttpServer implements AutoCloseable {
+
+    private static final int DEFAULT_TOP_MERCHANTS = 5;
+    private static final String TOP_MERCHANTS_PATH = "/api/merchants/top";
+
+    // Read once by the JDK when its first HttpServer is created
+    static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final BankingAnalyticsService service;
+    private final String datasetVersion;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public AnalyticsHttpServer(BankingAnalyticsService service, String datasetVersion,
+                               int port, int threads) throws IOException {
+        this.service = Objects.requireNonNull(service, "service must not be null");
+        this.datasetVersion = Objects.requireNonNull(datasetVersion, "datasetVersion must not be null");
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but was : " + threads);
+        }
+
+        endpoints.put("/api/totals/category", (uri, json) -> writeTotals(json, service.totalAmountByCategory()));
+        endpoints.put("/api/totals/city", (uri, json) -> writeTotals(json, service.totalAmountByCity()));
+        endpoints.put("/api/totals/payment-method", (uri, json) -> writeTotals(json, service.totalAmountByPaymentMethod()));
+        endpoints.put("/api/fraud/total", (uri, json) ->
+                json.beginObject().name("fraudulentTotal").value(service.totalFraudulentAmount()).endObject());
+        endpoints.put("/api/transactions/largest", (uri, json) -> writeTransaction(json, service.largestTransaction()));
+        endpoints.put(TOP_MERCHANTS_PATH, (uri, json) ->
+                writeRanking(json, service.topMerchantsByTotalAmount(limitParam(uri))));
+        endpoints.put("/api/averages/age-band", (uri, json) -> writeTotals(json, service.averageAmountByAgeBand()));
+
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Analytics-Http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Actual port, useful when constructed with port 0.
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public List<String> getEndpointPaths() {
+        return List.copyOf(endpoints.keySet());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Drain the request first: for body-less replies (304/4xx) the JDK server finishes the
+            // exchange inside sendResponseHeaders and drops the keep-alive connection if the
+            // request stream has not reached EOF yet.
+            exchange.getRequestBody().close();
+
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendEmpty(exchange, 405);
+                return;
+            }
+
+            URI uri = exchange.getRequestURI();
+            Endpoint endpoint = endpoints.get(uri.getPath());
+            if (endpoint == null) {
+                sendEmpty(exchange, 404);
+                return;
+            }
+
+            String etag = "\"" + datasetVersion + ":" + uri.toASCIIString().replace("\"", "") + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                sendEmpty(exchange, 304);
+                return;
+            }
+
+            if (uri.getPath().equals(TOP_MERCHANTS_PATH)) {
+                try {
+                    limitParam(uri); // validate before committing to a 200
+                } catch (IllegalArgumentException e) {
+                    sendEmpty(exchange, 400);
+                    return;
+                }
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, 0); // 0 = chunked, body length unknown up front
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 8192)) {
+                JsonWriter json = new JsonWriter(writer);
+                endpoint.write(uri, json);
+                json.flush();
+            }
+        }
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    // ?limit=N for top merchants; anything else is ignored.
+    private static int limitParam(URI uri) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return DEFAULT_TOP_MERCHANTS;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith("limit=")) {
+                try {
+                    int limit = Integer.parseInt(pair.substring("limit=".length()));
+                    if (limit < 0) {
+                        throw new IllegalArgumentException("limit must not be negative, but was : " + limit);
+                    }
+                    return limit;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("limit must be an integer", e);
+                }
+            }
+        }
+        return DEFAULT_TOP_MERCHANTS;
+    }
+
+    private static void writeTotals(JsonWriter json, Map<String, Double> totals) throws IOException {
+        json.beginObject();
+        for (Map.Entry<String, Double> entry : totals.entrySet()) {
+            json.name(String.valueOf(entry.getKey())).value(entry.getValue());
+        }
+        json.endObject();
+    }
+
+    private static void writeRanking(JsonWriter json, List<Map.Entry<String, Double>> ranking) throws IOException {
+        json.beginArray();
+        for (Map.Entry<String, Double> entry : ranking) {
+            json.beginObject()
+                    .name("name").value(entry.getKey())
+                    .name("totalAmount").value(entry.getValue())
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    private static void writeTransaction(JsonWriter json, BankTransaction tx) throws IOException {
+        if (tx == null) {
+            json.nullValue();
+            return;
+        }
+        json.beginObject()
+                .name("transactionId").value(tx.getTransactionId())
+                .name("accountNumber").value(tx.getAccountNumber())
+                .name("transactionDate").value(tx.getTransactionDate() == null ? null : tx.getTransactionDate().toString())
+                .name("transactionAmount").value(tx.getTransactionAmount())
+                .name("transactionType").value(tx.getTransactionType())
+                .name("customerAge").value(tx.getCustomerAge())
+                .name("customerGender").value(tx.getCustomerGender())
+                .name("customerIncome").value(tx.getCustomerIncome())
+                .name("accountBalance").value(tx.getAccountBalance())
+                .name("category").value(tx.getCategory())
+                .name("merchantName").value(tx.getMerchantName())
+                .name("paymentMethod").value(tx.getPaymentMethod())
+                .name("city").value(tx.getCity())
+                .name("fraudulent").value(tx.isFraudulent())
+                .name("transactionStatus").value(tx.getTransactionStatus())
+                .name("loyaltyPointsEarned").value(tx.getLoyaltyPointsEarned())
+                .name("discountApplied").value(tx.isDiscountApplied())
+                .endObject();
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void write(URI uri, JsonWriter json) throws IOException;
+    }
+}
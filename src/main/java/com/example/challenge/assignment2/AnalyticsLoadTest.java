@@ -0,0 +1,144 @@
+package com.example.challenge.assignment2;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ Local load-test harness for AnalyticsHttpServer.
+
+ Usage: AnalyticsLoadTest [clients] [requestsPerClient] [baseUrl] [revalidate]
+ Without a baseUrl (or with "-") it starts an in-process server on the bundled dataset. Each client
+ cycles through every endpoint; with revalidate=true it sends the ETag from its previous
+ response, measuring the 304 path. Prints throughput and p50/p90/p99/max latency. Like
+ AnalyticsServerApp, it enables TCP_NODELAY for the in-process server unless the flag is given.
+*/
+public class AnalyticsLoadTest {
+
+    private static final List<String> PATHS = List.of(
+            "/api/totals/category", "/api/totals/city", "/api/totals/payment-method",
+            "/api/fraud/total", "/api/transactions/largest", "/api/merchants/top?limit=10",
+            "/api/averages/age-band");
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        String baseUrl = args.length > 2 && !args[2].equals("-") ? args[2] : null;
+        boolean revalidate = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        AnalyticsHttpServer embedded = null;
+        if (baseUrl == null) {
+            if (System.getProperty(AnalyticsHttpServer.NODELAY_PROPERTY) == null) {
+                System.setProperty(AnalyticsHttpServer.NODELAY_PROPERTY, "true");
+            }
+            List<BankTransaction> transactions =
+                    new BankTransactionRepository(Path.of("data", "bankTransactionsDataset.csv")).findAll();
+            embedded = new AnalyticsHttpServer(new BankingAnalyticsService(transactions), "load-test", 0,
+                    Runtime.getRuntime().availableProcessors() * 2);
+            embedded.start();
+            baseUrl = "http://localhost:" + embedded.getPort();
+        }
+
+        try {
+            run(baseUrl, clients, requestsPerClient, revalidate);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void run(String baseUrl, int clients, int requestsPerClient, boolean revalidate) throws Exception {
+        // Separate pools: the blocking client tasks must not starve the client's own I/O callbacks
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(clients);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientExecutor)
+                    .build();
+            measure(client, pool, baseUrl, clients, requestsPerClient, revalidate);
+        } finally {
+            // Non-daemon threads; leaving either pool alive would keep the JVM from exiting
+            pool.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static void measure(HttpClient client, ExecutorService pool, String baseUrl, int clients,
+                                int requestsPerClient, boolean revalidate) throws Exception {
+
+        // Warm up the server's JIT before measuring
+        for (String path : PATHS) {
+            for (int i = 0; i < 50; i++) {
+                client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(), HttpResponse.BodyHandlers.discarding());
+            }
+        }
+
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int offset = c;
+            tasks.add(() -> runClient(client, baseUrl, requestsPerClient, offset, revalidate));
+        }
+
+        long start = System.nanoTime();
+        List<Future<long[]>> futures = pool.invokeAll(tasks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = new long[clients * requestsPerClient];
+        int pos = 0;
+        for (Future<long[]> future : futures) {
+            long[] part = future.get();
+            System.arraycopy(part, 0, latencies, pos, part.length);
+            pos += part.length;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%n%d clients x %d requests against %s (revalidate=%s)%n",
+                clients, requestsPerClient, baseUrl, revalidate);
+        System.out.printf("Throughput : %,.0f requests/sec%n", latencies.length / seconds);
+        System.out.printf("p50        : %8.3f ms%n", percentile(latencies, 0.50));
+        System.out.printf("p90        : %8.3f ms%n", percentile(latencies, 0.90));
+        System.out.printf("p99        : %8.3f ms%n", percentile(latencies, 0.99));
+        System.out.printf("max        : %8.3f ms%n", latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static long[] runClient(HttpClient client, String baseUrl, int requests, int offset, boolean revalidate)
+            throws IOException, InterruptedException {
+        long[] latencies = new long[requests];
+        String[] etags = new String[PATHS.size()];
+        for (int i = 0; i < requests; i++) {
+            int endpoint = (offset + i) % PATHS.size();
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(endpoint)));
+            if (revalidate && etags[endpoint] != null) {
+                request.header("If-None-Match", etags[endpoint]);
+            }
+
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - start;
+
+            if (response.statusCode() != 200 && response.statusCode() != 304) {
+                throw new IOException("Unexpected status " + response.statusCode() + " for " + PATHS.get(endpoint));
+            }
+            etags[endpoint] = response.headers().firstValue("ETag").orElse(null);
+        }
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.challenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable description of a group-by/filter/aggregate query.
+ *
+ * Start from one of the aggregate factories and refine with groupBy/where,
+ * for example:
+ *
+ *   AnalyticsQuery.sum(Measure.TRANSACTION_AMOUNT)
+ *           .groupBy(Dimension.CITY, Dimension.CATEGORY)
+ *           .where(Filter.fraudulent(true));
+ *
+ * Multiple filters are combined with AND. No groupBy yields a single row.
+ */
+public final class AnalyticsQuery {
+
+    private final Aggregate aggregate;
+    private final Measure measure;
+    private final List<Dimension> groupBy;
+    private final List<Filter> filters;
+
+    private AnalyticsQuery(Aggregate aggregate, Measure measure, List<Dimension> groupBy, List<Filter> filters) {
+        this.aggregate = Objects.requireNonNull(aggregate, "aggregate must not be null");
+        this.measure = Objects.requireNonNull(measure, "measure must not be null");
+        this.groupBy = List.copyOf(groupBy);
+        this.filters = List.copyOf(filters);
+    }
+
+    public static AnalyticsQuery of(Aggregate aggregate, Measure measure) {
+        return new AnalyticsQuery(aggregate, measure, List.of(), List.of());
+    }
+
+    public static AnalyticsQuery sum(Measure measure) {
+        return of(Aggregate.SUM, measure);
+    }
+
+    public static AnalyticsQuery avg(Measure measure) {
+        return of(Aggregate.AVG, measure);
+    }
+
+    public static AnalyticsQuery min(Measure measure) {
+        return of(Aggregate.MIN, measure);
+    }
+
+    public static AnalyticsQuery max(Measure measure) {
+        return of(Aggregate.MAX, measure);
+    }
+
+    public static AnalyticsQuery count() {
+        return of(Aggregate.COUNT, Measure.TRANSACTION_AMOUNT);
+    }
+
+    // Returns a copy grouped by the given dimensions, in order.
+    public AnalyticsQuery groupBy(Dimension... dimensions) {
+        return new AnalyticsQuery(aggregate, measure, Arrays.asList(dimensions), filters);
+    }
+
+    // Returns a copy with an additional filter.
+    public AnalyticsQuery where(Filter filter) {
+        List<Filter> combined = new ArrayList<>(filters);
+        combined.add(Objects.requireNonNull(filter, "filter must not be null"));
+        return new AnalyticsQuery(aggregate, measure, groupBy, combined);
+    }
+
+    public Aggregate getAggregate() {
+        return aggregate;
+    }
+
+    public Measure getMeasure() {
+        return measure;
+    }
+
+    public List<Dimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsQuery{" +
+                "aggregate=" + aggregate +
+                ", measure=" + measure +
+                ", groupBy=" + groupBy +
+                ", filters=" + filters +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.challenge.assignment2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+ Loads the dataset once and serves the analytics over HTTP until the process is stopped.
+
+ Usage: AnalyticsServerApp [port] [threads]
+ Enables TCP_NODELAY for the JDK HTTP server unless -Dsun.net.httpserver.nodelay is given.
+ The dataset version used in ETags is derived from the file's size and modification time,
+ so restarting on a changed file invalidates every cached response.
+*/
+public class AnalyticsServerApp {
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() * 2;
+        if (System.getProperty(AnalyticsHttpServer.NODELAY_PROPERTY) == null) {
+            System.setProperty(AnalyticsHttpServer.NODELAY_PROPERTY, "true");
+        }
+
+        Path csvPath = Path.of("data", "bankTransactionsDataset.csv");
+        List<BankTransaction> transactions = new BankTransactionRepository(csvPath).findAll();
+        String version = Long.toHexString(Files.size(csvPath)) + "-"
+                + Long.toHexString(Files.getLastModifiedTime(csvPath).toMillis());
+
+        AnalyticsHttpServer server = new AnalyticsHttpServer(
+                new BankingAnalyticsService(transactions), version, port, threads);
+        server.start();
+
+        System.out.printf("%nServing %,d transactions on http://localhost:%d with %d threads%n",
+                transactions.size(), server.getPort(), threads);
+        server.getEndpointPaths().forEach(path -> System.out.println("  GET " + path));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    }
+}
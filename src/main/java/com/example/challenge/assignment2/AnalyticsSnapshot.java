@@ -0,0 +1,96 @@
+package com.example.challenge.assignment2;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/*
+ Immutable, mutually consistent copy of every report kept by IncrementalAnalyticsService.
+ All figures describe exactly the same set of transactions.
+*/
+public class AnalyticsSnapshot {
+
+    private final long transactionCount;
+    private final Map<String, Double> totalByCategory;
+    private final Map<String, Double> totalByCity;
+    private final Map<String, Double> totalByPaymentMethod;
+    // Merchant totals split into immutable shards, so a new snapshot can reuse the untouched ones
+    private final List<Map<String, Double>> merchantShards;
+    private final Map<String, Double> averageByAgeBand;
+    private final double totalFraudulentAmount;
+    private final BankTransaction largestTransaction;
+
+    AnalyticsSnapshot(long transactionCount,
+                      Map<String, Double> totalByCategory,
+                      Map<String, Double> totalByCity,
+                      Map<String, Double> totalByPaymentMethod,
+                      List<Map<String, Double>> merchantShards,
+                      Map<String, Double> averageByAgeBand,
+                      double totalFraudulentAmount,
+                      BankTransaction largestTransaction) {
+        this.transactionCount = transactionCount;
+        this.totalByCategory = Map.copyOf(totalByCategory);
+        this.totalByCity = Map.copyOf(totalByCity);
+        this.totalByPaymentMethod = Map.copyOf(totalByPaymentMethod);
+        this.merchantShards = List.copyOf(merchantShards);
+        this.averageByAgeBand = Map.copyOf(averageByAgeBand);
+        this.totalFraudulentAmount = totalFraudulentAmount;
+        this.largestTransaction = largestTransaction;
+    }
+
+    public long transactionCount() {
+        return transactionCount;
+    }
+
+    public Map<String, Double> totalAmountByCategory() {
+        return totalByCategory;
+    }
+
+    public Map<String, Double> totalAmountByCity() {
+        return totalByCity;
+    }
+
+    public Map<String, Double> totalAmountByPaymentMethod() {
+        return totalByPaymentMethod;
+    }
+
+    public double totalFraudulentAmount() {
+        return totalFraudulentAmount;
+    }
+
+    // null when no transaction has been added yet.
+    public BankTransaction largestTransaction() {
+        return largestTransaction;
+    }
+
+    public Map<String, Double> averageAmountByAgeBand() {
+        return averageByAgeBand;
+    }
+
+    // The immutable merchant shards, for IncrementalAnalyticsService to build the next snapshot on.
+    List<Map<String, Double>> merchantShards() {
+        return merchantShards;
+    }
+
+    // Top N merchants by total amount, using a size-N heap: O(merchants * log N).
+    public List<Map.Entry<String, Double>> topMerchantsByTotalAmount(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Comparator<Map.Entry<String, Double>> byValue = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(limit + 1, byValue);
+        for (Map<String, Double> shard : merchantShards) {
+            for (Map.Entry<String, Double> entry : shard.entrySet()) {
+                heap.add(entry);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        }
+        return heap.stream()
+                .sorted(byValue.reversed())
+                .collect(Collectors.toList());
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 public class BankTransaction {
 
     private final String transactionId;
+    private final String accountNumber;        // derived from Account_Number
     private final LocalDateTime transactionDate; // derived from Transaction_Date
     private final double transactionAmount;
     private final String transactionType;      // e.g. "Debit", "Credit"
@@ -44,8 +45,33 @@ public class BankTransaction {
             String transactionStatus,
             int loyaltyPointsEarned,
             boolean discountApplied
+    ) {
+        this(transactionId, null, transactionDate, transactionAmount, transactionType, customerAge,
+                customerGender, customerIncome, accountBalance, category, merchantName, paymentMethod,
+                city, fraudulent, transactionStatus, loyaltyPointsEarned, discountApplied);
+    }
+
+    public BankTransaction(
+            String transactionId,
+            String accountNumber,
+            LocalDateTime transactionDate,
+            double transactionAmount,
+            String transactionType,
+            int customerAge,
+            String customerGender,
+            double customerIncome,
+            double accountBalance,
+            String category,
+            String merchantName,
+            String paymentMethod,
+            String city,
+            boolean fraudulent,
+            String transactionStatus,
+            int loyaltyPointsEarned,
+            boolean discountApplied
     ) {
         this.transactionId = transactionId;
+        this.accountNumber = accountNumber;
         this.transactionDate = transactionDate;
         this.transactionAmount = transactionAmount;
         this.transactionType = transactionType;
@@ -67,6 +93,10 @@ public class BankTransaction {
         return transactionId;
     }
 
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
     public LocalDateTime getTransactionDate() {
         return transactionDate;
     }
@@ -131,6 +161,7 @@ public class BankTransaction {
     public String toString() {
         return "BankTransaction{" +
                 "transactionId='" + transactionId + '\'' +
+                ", accountNumber='" + accountNumber + '\'' +
                 ", transactionDate=" + transactionDate +
                 ", transactionAmount=" + transactionAmount +
                 ", transactionType='" + transactionType + '\'' +
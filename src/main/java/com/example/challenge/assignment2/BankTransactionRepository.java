@@ -4,15 +4,24 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Repository responsible for loading BankTransaction data from a CSV file.
@@ -22,6 +31,7 @@ public class BankTransactionRepository {
 
     // Column name constants (must match the CSV header exactly)
     private static final String COL_TRANSACTION_ID = "Transaction_ID";
+    private static final String COL_ACCOUNT_NUMBER = "Account_Number";
     private static final String COL_TRANSACTION_DATE = "Transaction_Date";
     private static final String COL_TRANSACTION_AMOUNT = "Transaction_Amount";
     private static final String COL_TRANSACTION_TYPE = "Transaction_Type";
@@ -44,39 +54,174 @@ public class BankTransactionRepository {
     private static final DateTimeFormatter DATE_TIME_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    // Rows per profiled step, so timer overhead is paid per batch rather than per row
+    static final int BATCH_ROWS = 1024;
+
     private final Path csvPath;
+    private final StageProfiler profiler;
+    private final int blockSize;
+    private final int readAheadBlocks;
 
     public BankTransactionRepository(Path csvPath) {
+        this(csvPath, StageProfiler.disabled());
+    }
+
+    // Reports file reads, CSV tokenizing, date parsing and object construction as separate stages.
+    public BankTransactionRepository(Path csvPath, StageProfiler profiler) {
+        this(csvPath, profiler, PrefetchingInputStream.DEFAULT_BLOCK_SIZE, 0);
+    }
+
+    // Opt-in read-ahead: reads the file through a PrefetchingInputStream with the given block
+    // size and depth, which costs a thread and readAheadBlocks + 1 buffers per load.
+    // readAheadBlocks = 0, which the shorter constructors use, reads synchronously with Files.newBufferedReader.
+    public BankTransactionRepository(Path csvPath, StageProfiler profiler, int blockSize, int readAheadBlocks) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive, but was : " + blockSize);
+        }
+        if (readAheadBlocks < 0) {
+            throw new IllegalArgumentException("Read-ahead depth must not be negative, but was : " + readAheadBlocks);
+        }
         this.csvPath = Objects.requireNonNull(csvPath, "CSV path must not be null");
+        this.profiler = Objects.requireNonNull(profiler, "profiler must not be null");
+        this.blockSize = blockSize;
+        this.readAheadBlocks = readAheadBlocks;
     }
 
     // Loads all bank transactions from the CSV file.
     public List<BankTransaction> findAll() {
-        try (Reader reader = Files.newBufferedReader(csvPath);
+        List<BankTransaction> result = new ArrayList<>();
+        forEach(result::add);
+        return result;
+    }
+
+    // Streams every row to the action without holding the whole file in memory;
+    // use this to feed large files into OffHeapTransactionStore or other sinks.
+    public void forEach(Consumer<? super BankTransaction> action) {
+        LocalDateTime[] dates = new LocalDateTime[BATCH_ROWS];
+        forEachRecord(new RowConverter<BankTransaction>() {
+            @Override
+            public void parseDate(int slot, String raw) {
+                dates[slot] = LocalDateTime.parse(raw, DATE_TIME_FORMATTER);
+            }
+
+            @Override
+            public BankTransaction build(int slot, CSVRecord record) {
+                return toTransaction(record, dates[slot]);
+            }
+        }, action);
+    }
+
+    // Loads all rows in the compact form; see CompactTransaction.
+    public List<CompactTransaction> findAllCompact() {
+        List<CompactTransaction> result = new ArrayList<>();
+        forEachCompact(result::add);
+        return result;
+    }
+
+    // Streams every row in the compact form, parsed straight from the CSV fields.
+    // Equal category/merchant/city strings within one pass share one instance; account numbers are
+    // nearly unique per row, so interning them would only grow the map.
+    public void forEachCompact(Consumer<? super CompactTransaction> action) {
+        Map<String, String> canonical = new HashMap<>();
+        long[] epochSeconds = new long[BATCH_ROWS];
+        forEachRecord(new RowConverter<CompactTransaction>() {
+            @Override
+            public void parseDate(int slot, String raw) {
+                epochSeconds[slot] = CompactTransaction.parseEpochSecond(raw);
+            }
+
+            @Override
+            public CompactTransaction build(int slot, CSVRecord record) {
+                return toCompactTransaction(record, epochSeconds[slot], canonical);
+            }
+        }, action);
+    }
+
+    // Turns one batch slot into a row in two profiled steps; parsed dates are kept per slot
+    // in primitive or reusable arrays, so the split adds no per-row allocation.
+    private interface RowConverter<T> {
+        void parseDate(int slot, String raw);
+
+        T build(int slot, CSVRecord record);
+    }
+
+    // Reads the file in batches of BATCH_ROWS: tokenize, parse dates, build, then hand each row
+    // to the action. Each step is one timer bracket per batch, so profiling stays cheap per row.
+    @SuppressWarnings("unchecked")
+    private <T> void forEachRecord(RowConverter<T> converter, Consumer<? super T> action) {
+        StageProfiler.Timer load = profiler.timer("load CSV");
+        StageProfiler.Timer tokenize = profiler.timer("tokenize CSV");
+        StageProfiler.Timer dates = profiler.timer("parse dates");
+        StageProfiler.Timer build = profiler.timer("build transactions");
+
+        CSVRecord[] records = new CSVRecord[BATCH_ROWS];
+        Object[] built = new Object[BATCH_ROWS];
+
+        load.start();
+        long rows = 0;
+        try (Reader reader = openReader();
              CSVParser parser = new CSVParser(reader,
                      CSVFormat.DEFAULT
                              .withFirstRecordAsHeader()
                              .withTrim()
                              .withIgnoreEmptyLines())) {
 
-            List<BankTransaction> result = new ArrayList<>();
+            Iterator<CSVRecord> iterator = parser.iterator();
+            while (true) {
+                tokenize.start();
+                int count = 0;
+                while (count < BATCH_ROWS && iterator.hasNext()) {
+                    records[count++] = iterator.next();
+                }
+                tokenize.stop(count);
+                if (count == 0) {
+                    break;
+                }
 
-            for (CSVRecord record : parser) {
-                result.add(toTransaction(record));
-            }
+                dates.start();
+                for (int i = 0; i < count; i++) {
+                    converter.parseDate(i, records[i].get(COL_TRANSACTION_DATE));
+                }
+                dates.stop(count);
 
-            return result;
+                build.start();
+                for (int i = 0; i < count; i++) {
+                    built[i] = converter.build(i, records[i]);
+                }
+                build.stop(count);
+
+                for (int i = 0; i < count; i++) {
+                    action.accept((T) built[i]);
+                }
+                rows += count;
+            }
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to read CSV file: " + csvPath, e);
+        } finally {
+            load.stop(rows);
         }
     }
-    // Converts a CSVRecord to a BankTransaction object.
-    private BankTransaction toTransaction(CSVRecord record) {
-        String id = record.get(COL_TRANSACTION_ID);
 
-        String dateRaw = record.get(COL_TRANSACTION_DATE);
-        LocalDateTime dateTime = LocalDateTime.parse(dateRaw, DATE_TIME_FORMATTER);
+    private Reader openReader() throws IOException {
+        if (readAheadBlocks == 0 && !profiler.isEnabled()) {
+            return Files.newBufferedReader(csvPath);
+        }
+        InputStream in = readAheadBlocks == 0
+                ? Files.newInputStream(csvPath)
+                : new PrefetchingInputStream(csvPath, blockSize, readAheadBlocks);
+        if (profiler.isEnabled()) {
+            // With read-ahead, this times the waits for blocks the prefetcher has not finished yet
+            in = new ProfiledInputStream(in, profiler.timer("read file"));
+        }
+        // Same decoding as newBufferedReader: UTF-8, failing on malformed input
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8.newDecoder()));
+    }
+
+    // Converts a CSVRecord (with its already parsed Transaction_Date) to a BankTransaction object.
+    private BankTransaction toTransaction(CSVRecord record, LocalDateTime dateTime) {
+        String id = record.get(COL_TRANSACTION_ID);
+        String accountNumber = record.get(COL_ACCOUNT_NUMBER);
 
         double amount = parseDouble(record.get(COL_TRANSACTION_AMOUNT));
         String type = record.get(COL_TRANSACTION_TYPE);
@@ -104,6 +249,7 @@ public class BankTransactionRepository {
         // Create and return the BankTransaction object
         return new BankTransaction(
                 id,
+                accountNumber,
                 dateTime,
                 amount,
                 type,
@@ -122,6 +268,39 @@ public class BankTransactionRepository {
         );
     }
 
+    // Converts a CSVRecord straight to a CompactTransaction, with no LocalDateTime or label Strings.
+    private CompactTransaction toCompactTransaction(CSVRecord record, long epochSecond,
+                                                    Map<String, String> canonical) {
+        String id = record.get(COL_TRANSACTION_ID);
+        boolean uuid = CompactTransaction.isCanonicalUuid(id);
+
+        String fraudRaw = record.get(COL_FRAUD_FLAG);
+        String discountRaw = record.get(COL_DISCOUNT_APPLIED);
+
+        return new CompactTransaction(
+                uuid ? CompactTransaction.hexToLong(id, 0) : 0L,
+                uuid ? CompactTransaction.hexToLong(id, 19) : 0L,
+                uuid ? null : id,
+                record.get(COL_ACCOUNT_NUMBER),
+                epochSecond,
+                parseDouble(record.get(COL_TRANSACTION_AMOUNT)),
+                CompactTransaction.Type.fromLabel(record.get(COL_TRANSACTION_TYPE)),
+                CompactTransaction.toShortAge(parseIntOrDefault(record.get(COL_CUSTOMER_AGE), 0)),
+                CompactTransaction.Gender.fromLabel(record.get(COL_CUSTOMER_GENDER)),
+                parseDoubleOrDefault(record.get(COL_CUSTOMER_INCOME), 0.0),
+                parseDoubleOrDefault(record.get(COL_ACCOUNT_BALANCE), 0.0),
+                canonical.computeIfAbsent(record.get(COL_CATEGORY), value -> value),
+                canonical.computeIfAbsent(record.get(COL_MERCHANT_NAME), value -> value),
+                CompactTransaction.PaymentMethod.fromLabel(record.get(COL_PAYMENT_METHOD)),
+                canonical.computeIfAbsent(record.get(COL_CITY), value -> value),
+                CompactTransaction.Status.fromLabel(record.get(COL_TRANSACTION_STATUS)),
+                parseIntOrDefault(record.get(COL_LOYALTY_POINTS), 0),
+                CompactTransaction.flags(
+                        fraudRaw != null && fraudRaw.trim().equalsIgnoreCase("yes"),
+                        discountRaw != null && discountRaw.trim().equalsIgnoreCase("yes"))
+        );
+    }
+
     private double parseDouble(String raw) {
         return Double.parseDouble(raw.trim());
     }
@@ -147,4 +326,36 @@ public class BankTransactionRepository {
             return defaultValue;
         }
     }
+
+    // Times and counts the underlying file reads for the "read file" stage.
+    private static final class ProfiledInputStream extends FilterInputStream {
+        private final StageProfiler.Timer timer;
+
+        ProfiledInputStream(InputStream in, StageProfiler.Timer timer) {
+            super(in);
+            this.timer = timer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            timer.start();
+            int value = in.read();
+            timer.stop();
+            if (value >= 0) {
+                timer.addBytes(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            timer.start();
+            int count = in.read(buffer, offset, length);
+            timer.stop();
+            if (count > 0) {
+                timer.addBytes(count);
+            }
+            return count;
+        }
+    }
 }
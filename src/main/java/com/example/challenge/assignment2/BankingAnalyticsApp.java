@@ -3,18 +3,38 @@ package com.example.challenge.assignment2;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+/*
+ Usage: BankingAnalyticsApp [--profile] [csvPath]
+ --profile prints a per-stage breakdown (wall time, rows/sec, bytes read, allocation)
+ after the reports and emits ProfiledStage JFR events for any active recording.
+ Any other argument starting with "--" is rejected rather than read as a path.
+*/
 public class BankingAnalyticsApp {
 
     public static void main(String[] args) {
+        boolean profile = false;
         Path csvPath = Path.of("data", "bankTransactionsDataset.csv");
-        BankTransactionRepository repository = new BankTransactionRepository(csvPath);
+        for (String arg : args) {
+            if (arg.equals("--profile")) {
+                profile = true;
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException(
+                        "Unknown option : " + arg + " (usage: BankingAnalyticsApp [--profile] [csvPath])");
+            } else {
+                csvPath = Path.of(arg);
+            }
+        }
+        StageProfiler profiler = profile ? StageProfiler.enabled() : StageProfiler.disabled();
+
+        BankTransactionRepository repository = new BankTransactionRepository(csvPath, profiler);
         List<BankTransaction> transactions = repository.findAll();
 
         System.out.println("\nBanking Analytics Application Started");
         System.out.println("\nTotal transactions loaded : " + transactions.size());
 
-        BankingAnalyticsService analyticsService = new BankingAnalyticsService(transactions);
+        BankingAnalyticsService analyticsService = new BankingAnalyticsService(transactions, profiler);
 
         // Total by category
         System.out.println("\n**** Total Amount by Category ****");
@@ -50,6 +70,19 @@ public class BankingAnalyticsApp {
         // Average amount by age band
         System.out.println("\n**** Average Amount by Age Band ****");
         printMapSortedByValue(analyticsService.averageAmountByAgeBand());
+
+        // Approximate distinct accounts per city (HyperLogLog)
+        System.out.println("\n**** Approximate Distinct Accounts by City ****");
+        analyticsService.approximateDistinctCount(Dimension.CITY, Dimension.ACCOUNT_NUMBER).entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> System.out.printf("%-15s -> %10d%n", entry.getKey(), entry.getValue()));
+
+        // Approximate amount percentiles per category (KLL)
+        System.out.println("\n**** Amount Percentiles by Category (p50 / p95 / p99) ****");
+        new TreeMap<>(analyticsService.approximateQuantiles(Dimension.CATEGORY, Measure.TRANSACTION_AMOUNT, 0.5, 0.95, 0.99))
+                .forEach((category, q) -> System.out.printf("%-15s -> %10.2f %10.2f %10.2f%n", category, q[0], q[1], q[2]));
+
+        profiler.printReport(System.out);
     }
 
     // private static void printMap(Map<String, Double> map) {
@@ -1,100 +1,175 @@
 package com.example.challenge.assignment2;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.*;
 
 /**
- * Service that exposes various analytics over a list of BankTransaction
- * using Java Streams and lambdas.
+ * Service that exposes various analytics over a list of BankTransaction.
+ * The fixed reports are thin wrappers over the generic query API, which runs
+ * over a columnar copy of the data (see QueryExecutor).
  */
 public class BankingAnalyticsService {
 
     private final List<BankTransaction> transactions;
+    private final TransactionColumns columns;
+    private final TransactionTimeIndex timeIndex;
+    private final AmountKernels kernels = AmountKernels.best();
+    private final StageProfiler profiler;
+
+    // Per-dimension time indexes, built lazily the first time a dimension is sliced by time
+    private final Map<Dimension, Map<String, TransactionTimeIndex>> timeIndexesByDimension =
+            new ConcurrentHashMap<>();
 
     public BankingAnalyticsService(List<BankTransaction> transactions) {
+        this(transactions, StageProfiler.disabled());
+    }
+
+    // Records index construction and every report below as a profiler stage.
+    public BankingAnalyticsService(List<BankTransaction> transactions, StageProfiler profiler) {
+        this.profiler = Objects.requireNonNull(profiler, "profiler must not be null");
         this.transactions = List.copyOf(transactions);
+        int rows = this.transactions.size();
+        this.columns = profiler.time("build columns", rows, () -> new TransactionColumns(this.transactions));
+        this.timeIndex = profiler.time("build time index", rows, () -> new TransactionTimeIndex(this.transactions));
     }
 
-  // Total transaction amount grouped by category.
-    public Map<String, Double> totalAmountByCategory() {
-        return transactions.stream()
-                .collect(groupingBy(
-                        BankTransaction::getCategory,
-                        summingDouble(BankTransaction::getTransactionAmount)
-                ));
+    // Runs an arbitrary group-by/filter/aggregate query over the transactions.
+    public QueryResult query(AnalyticsQuery query) {
+        return QueryExecutor.execute(columns, query);
     }
 
     // Total transaction amount grouped by category.
+    public Map<String, Double> totalAmountByCategory() {
+        return profiled("total by category", () -> totalAmountBy(Dimension.CATEGORY));
+    }
+
+    // Total transaction amount grouped by city.
     public Map<String, Double> totalAmountByCity() {
-        return transactions.stream()
-                .collect(groupingBy(
-                        BankTransaction::getCity,
-                        summingDouble(BankTransaction::getTransactionAmount)
-                ));
+        return profiled("total by city", () -> totalAmountBy(Dimension.CITY));
     }
 
     // Total transaction amount grouped by payment method.
     public Map<String, Double> totalAmountByPaymentMethod() {
-        return transactions.stream()
-                .collect(groupingBy(
-                        BankTransaction::getPaymentMethod,
-                        summingDouble(BankTransaction::getTransactionAmount)
-                ));
+        return profiled("total by payment method", () -> totalAmountBy(Dimension.PAYMENT_METHOD));
     }
 
     // Total amount of fraudulent transactions.
     public double totalFraudulentAmount() {
-        return transactions.stream()
-                .filter(BankTransaction::isFraudulent)
-                .mapToDouble(BankTransaction::getTransactionAmount)
-                .sum();
+        return profiled("fraudulent total",
+                () -> kernels.maskedSum(columns.measure(Measure.TRANSACTION_AMOUNT), columns.fraudulent()));
     }
 
     // Largest single transaction.
     public BankTransaction largestTransaction() {
-        return transactions.stream()
-                .max(Comparator.comparingDouble(BankTransaction::getTransactionAmount))
-                .orElse(null);
+        int index = profiled("largest transaction", () -> kernels.indexOfMax(columns.measure(Measure.TRANSACTION_AMOUNT)));
+        return index < 0 ? null : transactions.get(index);
     }
 
     // Top N merchants by total transaction amount.
     public List<Map.Entry<String, Double>> topMerchantsByTotalAmount(int limit) {
-        Map<String, Double> totalByMerchant = transactions.stream()
-                .collect(groupingBy(
-                        BankTransaction::getMerchantName,
-                        summingDouble(BankTransaction::getTransactionAmount)
-                ));
-
-        return totalByMerchant.entrySet().stream()
+        return profiled("top merchants", () -> totalAmountBy(Dimension.MERCHANT).entrySet().stream()
                 .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
                 .limit(limit)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // Average transaction amount by customer age band.
     public Map<String, Double> averageAmountByAgeBand() {
-        return transactions.stream()
-                .collect(groupingBy(
-                        tx -> toAgeBand(tx.getCustomerAge()),
-                        averagingDouble(BankTransaction::getTransactionAmount)
-                ));
-    }
-
-    private String toAgeBand(int age) {
-        if (age <= 0) {
-            return "Unknown";
-        } else if (age <= 25) {
-            return "18-25";
-        } else if (age <= 35) {
-            return "26-35";
-        } else if (age <= 50) {
-            return "36-50";
-        } else {
-            return "50+";
-        }
+        return profiled("average by age band",
+                () -> query(AnalyticsQuery.avg(Measure.TRANSACTION_AMOUNT).groupBy(Dimension.AGE_BAND)).asMap());
+    }
+
+    private Map<String, Double> totalAmountBy(Dimension dimension) {
+        return query(AnalyticsQuery.sum(Measure.TRANSACTION_AMOUNT).groupBy(dimension)).asMap();
+    }
+
+    // A full-scan report, timed as one profiler stage over every row.
+    private <T> T profiled(String stage, Supplier<T> report) {
+        return profiler.time(stage, transactions.size(), report);
+    }
+
+    // Per-group count/sum/min/max plus distinct-count and quantile sketches, built in one parallel scan.
+    public SummaryTable summarize(Dimension groupBy, Dimension distinctOf, Measure measure) {
+        return SummaryTable.compute(columns, groupBy, distinctOf, measure);
+    }
+
+    // Per-group count/sum/min/max and quantile sketches only, for when no distinct count is needed.
+    public SummaryTable summarize(Dimension groupBy, Measure measure) {
+        return SummaryTable.compute(columns, groupBy, measure);
+    }
+
+    // Per-group count/sum/min/max and distinct-count sketches only, for when no quantiles are needed.
+    public SummaryTable summarizeDistinct(Dimension groupBy, Dimension distinctOf, Measure measure) {
+        return SummaryTable.computeDistinct(columns, groupBy, distinctOf, measure);
+    }
+
+    // Approximate number of distinct values of one dimension per group, e.g. accounts per city.
+    public Map<String, Long> approximateDistinctCount(Dimension groupBy, Dimension distinctOf) {
+        return profiled("approximate distinct count", () ->
+                summarizeDistinct(groupBy, distinctOf, Measure.TRANSACTION_AMOUNT).getGroups().entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getApproximateDistinctCount())));
+    }
+
+    // Approximate quantiles (ranks in [0, 1]) of a measure per group, e.g. p50/p95/p99 amount per category.
+    public Map<String, double[]> approximateQuantiles(Dimension groupBy, Measure measure, double... quantiles) {
+        return profiled("approximate quantiles", () ->
+                summarize(groupBy, measure).getGroups().entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getQuantiles(quantiles))));
+    }
+
+    // Total transaction amount dated in [from, to).
+    public double totalAmountBetween(LocalDateTime from, LocalDateTime to) {
+        return timeIndex.totalAmountBetween(from, to);
+    }
+
+    // Number of transactions dated in [from, to).
+    public long transactionCountBetween(LocalDateTime from, LocalDateTime to) {
+        return timeIndex.countBetween(from, to);
+    }
+
+    // Total amount dated in [from, to) for a single value of a dimension, e.g. CITY = "Dallas".
+    public double totalAmountBetween(LocalDateTime from, LocalDateTime to, Dimension dimension, String value) {
+        TransactionTimeIndex index = timeIndexesFor(dimension).get(value);
+        return index == null ? 0.0 : index.totalAmountBetween(from, to);
+    }
+
+    // Total transaction amount per hour/day/month, in ascending time order.
+    public SortedMap<LocalDateTime, Double> totalAmountByTimeBucket(TimeBucket bucket) {
+        return timeIndex.totalAmountByBucket(bucket);
+    }
+
+    // Transaction count per hour/day/month, in ascending time order.
+    public SortedMap<LocalDateTime, Long> transactionCountByTimeBucket(TimeBucket bucket) {
+        return timeIndex.countByBucket(bucket);
+    }
+
+    // Total transaction amount per hour/day/month for every value of a dimension.
+    public Map<String, SortedMap<LocalDateTime, Double>> totalAmountByTimeBucket(TimeBucket bucket, Dimension dimension) {
+        return timeIndexesFor(dimension).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().totalAmountByBucket(bucket)));
+    }
+
+    // Transaction count per hour/day/month for every value of a dimension.
+    public Map<String, SortedMap<LocalDateTime, Long>> transactionCountByTimeBucket(TimeBucket bucket, Dimension dimension) {
+        return timeIndexesFor(dimension).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().countByBucket(bucket)));
+    }
+
+    private Map<String, TransactionTimeIndex> timeIndexesFor(Dimension dimension) {
+        return timeIndexesByDimension.computeIfAbsent(dimension, dim -> {
+            Map<String, List<BankTransaction>> groups = transactions.stream()
+                    .collect(groupingBy(dim::valueOf));
+
+            return groups.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> new TransactionTimeIndex(e.getValue())));
+        });
     }
 }
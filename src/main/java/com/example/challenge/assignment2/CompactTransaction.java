@@ -0,0 +1,310 @@
+package com.example.challenge.assignment2;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact, immutable form of one BankTransaction row.
+ *
+ * The date is seconds since the epoch (Transaction_Date read as UTC, like
+ * TransactionTimeIndex), a canonical lower-case UUID id is two longs, the closed-set
+ * columns are enums, and the two flags share one byte. Only ids that are not UUIDs,
+ * account numbers and the open-ended category/merchant/city strings stay Strings; when
+ * loaded by BankTransactionRepository.findAllCompact, equal category/merchant/city
+ * values share one instance. With compressed oops a row is one 104-byte object plus
+ * its account-number String (~175 bytes together), against ~670 bytes for a
+ * BankTransaction with its LocalDateTime and per-row Strings.
+ *
+ * Enum fields compare by identity and group by ordinal, as totalAmountByPaymentMethod
+ * does. A value outside an enum's known set is read as UNKNOWN.
+ */
+public record CompactTransaction(
+        long idHigh,
+        long idLow,
+        String otherId,             // the id when it is not a canonical UUID, else null
+        String accountNumber,
+        long epochSecond,
+        double amount,
+        Type type,
+        short customerAge,
+        Gender customerGender,
+        double customerIncome,
+        double accountBalance,
+        String category,
+        String merchantName,
+        PaymentMethod paymentMethod,
+        String city,
+        Status status,
+        int loyaltyPointsEarned,
+        byte flags
+) {
+
+    public static final byte FLAG_FRAUDULENT = 1;
+    public static final byte FLAG_DISCOUNT_APPLIED = 2;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // The CSV text of an enum constant; shared by the closed-set columns below.
+    interface Labelled {
+        String label();
+    }
+
+    public enum Type implements Labelled {
+        DEBIT("Debit"), CREDIT("Credit"), UNKNOWN("Unknown");
+
+        private static final Type[] VALUES = values();
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+
+        // The constant whose CSV label matches (case-insensitively), else UNKNOWN.
+        public static Type fromLabel(String label) {
+            return CompactTransaction.fromLabel(VALUES, label, UNKNOWN);
+        }
+    }
+
+    public enum Gender implements Labelled {
+        MALE("Male"), FEMALE("Female"), OTHERS("Others"), UNKNOWN("Unknown");
+
+        private static final Gender[] VALUES = values();
+        private final String label;
+
+        Gender(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+
+        // The constant whose CSV label matches (case-insensitively), else UNKNOWN.
+        public static Gender fromLabel(String label) {
+            return CompactTransaction.fromLabel(VALUES, label, UNKNOWN);
+        }
+    }
+
+    public enum PaymentMethod implements Labelled {
+        CREDIT_CARD("Credit Card"), DEBIT_CARD("Debit Card"), E_WALLET("E-Wallet"),
+        ONLINE_TRANSFER("Online Transfer"), CASH("Cash"), UNKNOWN("Unknown");
+
+        private static final PaymentMethod[] VALUES = values();
+        private final String label;
+
+        PaymentMethod(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+
+        // The constant whose CSV label matches (case-insensitively), else UNKNOWN.
+        public static PaymentMethod fromLabel(String label) {
+            return CompactTransaction.fromLabel(VALUES, label, UNKNOWN);
+        }
+    }
+
+    public enum Status implements Labelled {
+        SUCCESS("Success"), FAILED("Failed"), PENDING("Pending"), UNKNOWN("Unknown");
+
+        private static final Status[] VALUES = values();
+        private final String label;
+
+        Status(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+
+        // The constant whose CSV label matches (case-insensitively), else UNKNOWN.
+        public static Status fromLabel(String label) {
+            return CompactTransaction.fromLabel(VALUES, label, UNKNOWN);
+        }
+    }
+
+    // Converts an existing on-heap transaction; strings are kept as they are, not shared.
+    public static CompactTransaction of(BankTransaction tx) {
+        String id = tx.getTransactionId();
+        boolean uuid = isCanonicalUuid(id);
+        LocalDateTime date = tx.getTransactionDate();
+        return new CompactTransaction(
+                uuid ? hexToLong(id, 0) : 0L,
+                uuid ? hexToLong(id, 19) : 0L,
+                uuid ? null : id,
+                tx.getAccountNumber(),
+                date == null ? Long.MIN_VALUE : TransactionTimeIndex.toEpochSecond(date),
+                tx.getTransactionAmount(),
+                Type.fromLabel(tx.getTransactionType()),
+                toShortAge(tx.getCustomerAge()),
+                Gender.fromLabel(tx.getCustomerGender()),
+                tx.getCustomerIncome(),
+                tx.getAccountBalance(),
+                tx.getCategory(),
+                tx.getMerchantName(),
+                PaymentMethod.fromLabel(tx.getPaymentMethod()),
+                tx.getCity(),
+                Status.fromLabel(tx.getTransactionStatus()),
+                tx.getLoyaltyPointsEarned(),
+                flags(tx.isFraudulent(), tx.isDiscountApplied()));
+    }
+
+    // Total amount per payment method that occurs in rows: summed into an array indexed by
+    // ordinal (compensated, like the columnar kernels), with no per-row hashing or boxing.
+    public static Map<PaymentMethod, Double> totalAmountByPaymentMethod(Iterable<CompactTransaction> rows) {
+        double[] sums = new double[PaymentMethod.VALUES.length];
+        double[] compensation = new double[sums.length];
+        boolean[] present = new boolean[sums.length];
+        for (CompactTransaction row : rows) {
+            int method = row.paymentMethod.ordinal();
+            ScalarAmountKernels.addCompensated(sums, compensation, method, row.amount);
+            present[method] = true;
+        }
+        ScalarAmountKernels.finish(sums, compensation);
+
+        Map<PaymentMethod, Double> totals = new EnumMap<>(PaymentMethod.class);
+        for (PaymentMethod method : PaymentMethod.VALUES) {
+            if (present[method.ordinal()]) {
+                totals.put(method, sums[method.ordinal()]);
+            }
+        }
+        return totals;
+    }
+
+    public String transactionId() {
+        return otherId != null ? otherId : new UUID(idHigh, idLow).toString();
+    }
+
+    // The Transaction_Date, or null when the row had none.
+    public LocalDateTime transactionDate() {
+        return epochSecond == Long.MIN_VALUE ? null : TransactionTimeIndex.toDateTime(epochSecond);
+    }
+
+    public boolean fraudulent() {
+        return (flags & FLAG_FRAUDULENT) != 0;
+    }
+
+    public boolean discountApplied() {
+        return (flags & FLAG_DISCOUNT_APPLIED) != 0;
+    }
+
+    // Expands the row into a regular BankTransaction; enum fields become their labels.
+    public BankTransaction toTransaction() {
+        return new BankTransaction(
+                transactionId(),
+                accountNumber,
+                transactionDate(),
+                amount,
+                type.label(),
+                customerAge,
+                customerGender.label(),
+                customerIncome,
+                accountBalance,
+                category,
+                merchantName,
+                paymentMethod.label(),
+                city,
+                fraudulent(),
+                status.label(),
+                loyaltyPointsEarned,
+                discountApplied());
+    }
+
+    // Linear scan of values() for the label, ignoring case; the enums have at most six constants.
+    private static <E extends Enum<E> & Labelled> E fromLabel(E[] values, String label, E unknown) {
+        for (E value : values) {
+            if (value.label().equalsIgnoreCase(label)) {
+                return value;
+            }
+        }
+        return unknown;
+    }
+
+    // Clamps an age into a short column instead of letting the cast wrap; shared with OffHeapTransactionStore.
+    static short toShortAge(int age) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, age));
+    }
+
+    static byte flags(boolean fraudulent, boolean discountApplied) {
+        return (byte) ((fraudulent ? FLAG_FRAUDULENT : 0) | (discountApplied ? FLAG_DISCOUNT_APPLIED : 0));
+    }
+
+    // Parses "yyyy-MM-dd HH:mm:ss" as UTC seconds without building a LocalDateTime;
+    // anything else goes through the same formatter as findAll, so both accept and reject the same text.
+    static long parseEpochSecond(String raw) {
+        if (raw.length() == 19 && raw.charAt(4) == '-' && raw.charAt(7) == '-' && raw.charAt(10) == ' '
+                && raw.charAt(13) == ':' && raw.charAt(16) == ':') {
+            int year = digits(raw, 0, 4);
+            int month = digits(raw, 5, 2);
+            int day = digits(raw, 8, 2);
+            int hour = digits(raw, 11, 2);
+            int minute = digits(raw, 14, 2);
+            int second = digits(raw, 17, 2);
+            // Days past the month's end (2023-02-30) are left to the formatter, which resolves them as findAll does
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year))
+                    && hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59) {
+                return LocalDate.of(year, month, day).toEpochDay() * 86_400L + hour * 3_600L + minute * 60L + second;
+            }
+        }
+        return TransactionTimeIndex.toEpochSecond(LocalDateTime.parse(raw, DATE_TIME_FORMATTER));
+    }
+
+    // Canonical 36-character, lower-case UUID text; other ids are kept as strings so they print back unchanged.
+    static boolean isCanonicalUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : !((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Reads the 16 hex digits starting at `from`, skipping dashes.
+    static long hexToLong(String id, int from) {
+        long value = 0;
+        int read = 0;
+        for (int i = from; read < 16; i++) {
+            char c = id.charAt(i);
+            if (c != '-') {
+                value = (value << 4) | Character.digit(c, 16);
+                read++;
+            }
+        }
+        return value;
+    }
+
+    // Non-negative value of `length` decimal digits, or -1 if any is not a digit.
+    private static int digits(String raw, int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            char c = raw.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
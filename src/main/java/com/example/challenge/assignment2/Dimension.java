@@ -0,0 +1,46 @@
+package com.example.challenge.assignment2;
+
+import java.util.function.Function;
+
+/*
+ String-valued columns of a BankTransaction that analytics can group or slice by.
+ AGE_BAND is derived from Customer_Age using the same bands as the age-band report.
+*/
+public enum Dimension {
+
+    CATEGORY(BankTransaction::getCategory),
+    CITY(BankTransaction::getCity),
+    PAYMENT_METHOD(BankTransaction::getPaymentMethod),
+    MERCHANT(BankTransaction::getMerchantName),
+    ACCOUNT_NUMBER(BankTransaction::getAccountNumber),
+    TRANSACTION_TYPE(BankTransaction::getTransactionType),
+    CUSTOMER_GENDER(BankTransaction::getCustomerGender),
+    TRANSACTION_STATUS(BankTransaction::getTransactionStatus),
+    AGE_BAND(tx -> toAgeBand(tx.getCustomerAge()));
+
+    private final Function<BankTransaction, String> extractor;
+
+    Dimension(Function<BankTransaction, String> extractor) {
+        this.extractor = extractor;
+    }
+
+    // Value of this dimension for the given transaction.
+    public String valueOf(BankTransaction transaction) {
+        return extractor.apply(transaction);
+    }
+
+    // Maps a raw customer age to its reporting band; invalid ages land in "Unknown".
+    static String toAgeBand(int age) {
+        if (age <= 0) {
+            return "Unknown";
+        } else if (age <= 25) {
+            return "18-25";
+        } else if (age <= 35) {
+            return "26-35";
+        } else if (age <= 50) {
+            return "36-50";
+        } else {
+            return "50+";
+        }
+    }
+}
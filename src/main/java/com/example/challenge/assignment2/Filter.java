@@ -0,0 +1,157 @@
+package com.example.challenge.assignment2;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Row filter for an AnalyticsQuery.
+ *
+ * Filters are plain descriptions rather than lambdas: each kind evaluates a
+ * whole column at a time with its own loop, clearing rows that do not match.
+ * That keeps every loop monomorphic no matter how many filter kinds a query
+ * mixes, and dimension filters compare dictionary ids instead of strings.
+ */
+public abstract class Filter {
+
+    private Filter() {
+    }
+
+    // Rows whose dimension value is one of the given values.
+    public static Filter in(Dimension dimension, String... values) {
+        return new DimensionFilter(dimension, new HashSet<>(Arrays.asList(values)));
+    }
+
+    // Rows whose dimension value equals the given value.
+    public static Filter equalTo(Dimension dimension, String value) {
+        return in(dimension, value);
+    }
+
+    // Rows whose measure lies in [min, max].
+    public static Filter between(Measure measure, double min, double max) {
+        return new MeasureFilter(measure, min, max);
+    }
+
+    // Rows dated in [from, to).
+    public static Filter dateBetween(LocalDateTime from, LocalDateTime to) {
+        return new DateFilter(
+                TransactionTimeIndex.toEpochSecond(from),
+                TransactionTimeIndex.toEpochSecond(to));
+    }
+
+    // Rows whose Fraud_Flag matches.
+    public static Filter fraudulent(boolean fraudulent) {
+        return new FlagFilter(true, fraudulent);
+    }
+
+    // Rows whose Discount_Applied flag matches.
+    public static Filter discountApplied(boolean discountApplied) {
+        return new FlagFilter(false, discountApplied);
+    }
+
+    // Clears keep[i] for every row that does not match this filter.
+    abstract void retain(TransactionColumns columns, boolean[] keep);
+
+    private static final class DimensionFilter extends Filter {
+        private final Dimension dimension;
+        private final Set<String> values;
+
+        DimensionFilter(Dimension dimension, Set<String> values) {
+            this.dimension = Objects.requireNonNull(dimension, "dimension must not be null");
+            this.values = values;
+        }
+
+        @Override
+        void retain(TransactionColumns columns, boolean[] keep) {
+            String[] dictionary = columns.dictionary(dimension);
+            boolean[] allowed = new boolean[dictionary.length];
+            for (int id = 0; id < dictionary.length; id++) {
+                allowed[id] = values.contains(dictionary[id]);
+            }
+
+            int[] ids = columns.ids(dimension);
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= allowed[ids[i]];
+            }
+        }
+
+        @Override
+        public String toString() {
+            return dimension + " in " + values;
+        }
+    }
+
+    private static final class MeasureFilter extends Filter {
+        private final Measure measure;
+        private final double min;
+        private final double max;
+
+        MeasureFilter(Measure measure, double min, double max) {
+            this.measure = Objects.requireNonNull(measure, "measure must not be null");
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void retain(TransactionColumns columns, boolean[] keep) {
+            double[] values = columns.measure(measure);
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= values[i] >= min && values[i] <= max;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return measure + " between " + min + " and " + max;
+        }
+    }
+
+    private static final class DateFilter extends Filter {
+        private final long fromEpochSecond;
+        private final long toEpochSecond;
+
+        DateFilter(long fromEpochSecond, long toEpochSecond) {
+            this.fromEpochSecond = fromEpochSecond;
+            this.toEpochSecond = toEpochSecond;
+        }
+
+        @Override
+        void retain(TransactionColumns columns, boolean[] keep) {
+            long[] epochSeconds = columns.epochSeconds();
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= epochSeconds[i] >= fromEpochSecond && epochSeconds[i] < toEpochSecond;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "date in [" + TransactionTimeIndex.toDateTime(fromEpochSecond)
+                    + ", " + TransactionTimeIndex.toDateTime(toEpochSecond) + ")";
+        }
+    }
+
+    private static final class FlagFilter extends Filter {
+        private final boolean fraudFlag; // true = Fraud_Flag, false = Discount_Applied
+        private final boolean expected;
+
+        FlagFilter(boolean fraudFlag, boolean expected) {
+            this.fraudFlag = fraudFlag;
+            this.expected = expected;
+        }
+
+        @Override
+        void retain(TransactionColumns columns, boolean[] keep) {
+            boolean[] flags = fraudFlag ? columns.fraudulent() : columns.discountApplied();
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= flags[i] == expected;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return (fraudFlag ? "fraudulent" : "discountApplied") + " = " + expected;
+        }
+    }
+}
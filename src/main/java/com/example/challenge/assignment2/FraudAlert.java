@@ -0,0 +1,52 @@
+package com.example.challenge.assignment2;
+
+/*
+ Alert raised by FraudRuleEngine when a transaction trips a rule.
+*/
+public class FraudAlert {
+
+    private final FraudRule rule;
+    private final String transactionId;
+    private final String accountNumber;
+    private final long epochSecond;
+    private final String detail;
+
+    public FraudAlert(FraudRule rule, String transactionId, String accountNumber, long epochSecond, String detail) {
+        this.rule = rule;
+        this.transactionId = transactionId;
+        this.accountNumber = accountNumber;
+        this.epochSecond = epochSecond;
+        this.detail = detail;
+    }
+
+    public FraudRule getRule() {
+        return rule;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return "FraudAlert{" +
+                "rule=" + rule +
+                ", transactionId='" + transactionId + '\'' +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", time=" + TransactionTimeIndex.toDateTime(epochSecond) +
+                ", detail='" + detail + '\'' +
+                '}';
+    }
+}
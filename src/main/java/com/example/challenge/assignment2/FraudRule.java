@@ -0,0 +1,10 @@
+package com.example.challenge.assignment2;
+
+/*
+ Rules evaluated by FraudRuleEngine for every transaction.
+*/
+public enum FraudRule {
+    VELOCITY,        // too many transactions on one account inside the window
+    AMOUNT_SPIKE,    // amount far above the account's rolling mean
+    REPEAT_MERCHANT  // same merchant hit repeatedly inside the window
+}
@@ -0,0 +1,88 @@
+package com.example.challenge.assignment2;
+
+import java.time.Duration;
+
+/*
+ Thresholds for FraudRuleEngine.
+
+ window               - sliding time window kept per account
+ maxEventsPerAccount  - hard cap on events remembered per account (oldest dropped first)
+ maxTransactions      - VELOCITY fires when an account has more than this many in the window
+ spikeMultiplier      - AMOUNT_SPIKE fires when amount > multiplier * rolling mean ...
+ spikeMinHistory      - ... and the window already holds at least this many events
+ repeatMerchantCount  - REPEAT_MERCHANT fires when one merchant reaches this many in the window
+
+ The constructor rejects values under which a rule could never fire or would fire on every
+ event: counts and history above maxEventsPerAccount, a repeat count below 2, a non-positive multiplier.
+*/
+public class FraudRuleConfig {
+
+    private final Duration window;
+    private final int maxEventsPerAccount;
+    private final int maxTransactions;
+    private final double spikeMultiplier;
+    private final int spikeMinHistory;
+    private final int repeatMerchantCount;
+
+    public FraudRuleConfig(Duration window, int maxEventsPerAccount, int maxTransactions,
+                           double spikeMultiplier, int spikeMinHistory, int repeatMerchantCount) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive, but was : " + window);
+        }
+        if (maxEventsPerAccount <= 0) {
+            throw new IllegalArgumentException("maxEventsPerAccount must be positive, but was : " + maxEventsPerAccount);
+        }
+        if (maxTransactions >= maxEventsPerAccount) {
+            throw new IllegalArgumentException("maxTransactions must be below maxEventsPerAccount ("
+                    + maxEventsPerAccount + "), but was : " + maxTransactions);
+        }
+        // Written as !(x > 0) so NaN is rejected too
+        if (!(spikeMultiplier > 0)) {
+            throw new IllegalArgumentException("spikeMultiplier must be positive, but was : " + spikeMultiplier);
+        }
+        if (spikeMinHistory <= 0 || spikeMinHistory > maxEventsPerAccount) {
+            throw new IllegalArgumentException("spikeMinHistory must be between 1 and maxEventsPerAccount ("
+                    + maxEventsPerAccount + "), but was : " + spikeMinHistory);
+        }
+        // One event is always a "repeat" of itself, and more hits than are remembered can never be seen
+        if (repeatMerchantCount < 2 || repeatMerchantCount > maxEventsPerAccount) {
+            throw new IllegalArgumentException("repeatMerchantCount must be between 2 and maxEventsPerAccount ("
+                    + maxEventsPerAccount + "), but was : " + repeatMerchantCount);
+        }
+        this.window = window;
+        this.maxEventsPerAccount = maxEventsPerAccount;
+        this.maxTransactions = maxTransactions;
+        this.spikeMultiplier = spikeMultiplier;
+        this.spikeMinHistory = spikeMinHistory;
+        this.repeatMerchantCount = repeatMerchantCount;
+    }
+
+    // 10 minute window, >5 transactions, 3x mean after 3 events, 3 hits on one merchant.
+    public static FraudRuleConfig defaults() {
+        return new FraudRuleConfig(Duration.ofMinutes(10), 64, 5, 3.0, 3, 3);
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getMaxEventsPerAccount() {
+        return maxEventsPerAccount;
+    }
+
+    public int getMaxTransactions() {
+        return maxTransactions;
+    }
+
+    public double getSpikeMultiplier() {
+        return spikeMultiplier;
+    }
+
+    public int getSpikeMinHistory() {
+        return spikeMinHistory;
+    }
+
+    public int getRepeatMerchantCount() {
+        return repeatMerchantCount;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.challenge.assignment2;
+
+import com.example.challenge.assignment1.BoundedBlockingQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Streaming fraud scoring over BoundedBlockingQueue-connected worker threads.
+ *
+ * Transactions are partitioned by account hash, so every account is owned by
+ * exactly one worker and its AccountWindow needs no locking. The submitting
+ * thread groups transactions into batches per worker before handing them to
+ * that worker's queue, which keeps monitor traffic to one put/take per batch
+ * rather than per event. A null batch is the end-of-stream sentinel, as in
+ * assignment 1.
+ *
+ * Windows are driven by event time (Transaction_Date). Events are expected in
+ * roughly ascending time per account; a late event is still scored but does
+ * not move the window backwards. Accounts idle for longer than the window are
+ * swept periodically so total memory follows the number of active accounts.
+ *
+ * submit() and close() must be called from one thread. The alert sink is
+ * called from the worker threads and must be thread-safe.
+ *
+ * If scoring or the sink throws on a worker, the first failure is recorded and
+ * that worker keeps draining (and discarding) its queue so the submitting
+ * thread can never block on it. The next submit() or close() then throws an
+ * IllegalStateException carrying the original failure.
+ */
+public class FraudRuleEngine implements AutoCloseable {
+
+    static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_CAPACITY_BATCHES = 16;
+    private static final int SWEEP_INTERVAL_EVENTS = 1 << 16;
+
+    private final FraudRuleConfig config;
+    private final Consumer<FraudAlert> sink;
+    private final List<Worker> workers = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final BankTransaction[][] pending;
+    private final int[] pendingSizes;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean closed;
+
+    public FraudRuleEngine(int workerCount, FraudRuleConfig config, Consumer<FraudAlert> sink) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive, but was : " + workerCount);
+        }
+        this.config = Objects.requireNonNull(config, "config must not be null");
+        this.sink = Objects.requireNonNull(sink, "sink must not be null");
+        this.pending = new BankTransaction[workerCount][BATCH_SIZE];
+        this.pendingSizes = new int[workerCount];
+
+        for (int i = 0; i < workerCount; i++) {
+            Worker worker = new Worker();
+            workers.add(worker);
+            Thread thread = new Thread(worker, "Fraud-Worker-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    // Routes a transaction to the worker owning its account; blocks if that worker is backed up.
+    public void submit(BankTransaction transaction) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Engine is closed");
+        }
+        throwIfFailed();
+        int partition = partitionOf(transaction.getAccountNumber());
+        pending[partition][pendingSizes[partition]++] = transaction;
+        if (pendingSizes[partition] == BATCH_SIZE) {
+            flush(partition);
+        }
+    }
+
+    // Flushes partial batches, signals end of stream and waits for every worker to drain.
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int partition = 0; partition < workers.size(); partition++) {
+            flush(partition);
+            workers.get(partition).queue.put(null);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        throwIfFailed();
+    }
+
+    // Events scored so far; exact once close() has returned.
+    public long processedCount() {
+        long total = 0;
+        for (Worker worker : workers) {
+            total += worker.processed;
+        }
+        return total;
+    }
+
+    private void throwIfFailed() {
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IllegalStateException("Fraud worker failed : " + cause, cause);
+        }
+    }
+
+    private void recordFailure(Throwable cause) {
+        // The first failure wins; submit() and close() rethrow it
+        failure.compareAndSet(null, cause);
+    }
+
+    private void flush(int partition) throws InterruptedException {
+        int size = pendingSizes[partition];
+        if (size == 0) {
+            return;
+        }
+        BankTransaction[] batch = size == BATCH_SIZE
+                ? pending[partition]
+                : Arrays.copyOf(pending[partition], size);
+        workers.get(partition).queue.put(batch);
+        pending[partition] = new BankTransaction[BATCH_SIZE];
+        pendingSizes[partition] = 0;
+    }
+
+    private int partitionOf(String accountNumber) {
+        int h = accountNumber == null ? 0 : accountNumber.hashCode();
+        h ^= h >>> 16; // spread high bits, as HashMap does
+        return Math.floorMod(h, workers.size());
+    }
+
+    private final class Worker implements Runnable {
+
+        private final BoundedBlockingQueue<BankTransaction[]> queue = new BoundedBlockingQueue<>(QUEUE_CAPACITY_BATCHES);
+        private final Map<String, AccountWindow> windows = new HashMap<>();
+        private final long windowSeconds = config.getWindow().getSeconds();
+        private volatile long processed;
+        private long latestTime = Long.MIN_VALUE;
+
+        @Override
+        public void run() {
+            boolean interrupted = false;
+            while (true) {
+                BankTransaction[] batch;
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException e) {
+                    // Keep draining so the submitting thread is never left blocked on put()
+                    interrupted = true;
+                    recordFailure(e);
+                    continue;
+                }
+                if (batch == null) {
+                    break;
+                }
+                if (failure.get() != null) {
+                    continue; // engine has failed; discard the rest of the stream
+                }
+                try {
+                    for (BankTransaction transaction : batch) {
+                        score(transaction);
+                    }
+                } catch (RuntimeException | Error e) {
+                    recordFailure(e);
+                    continue;
+                }
+                processed += batch.length;
+                if ((processed & (SWEEP_INTERVAL_EVENTS - 1)) < batch.length) {
+                    sweepIdleAccounts();
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void score(BankTransaction tx) {
+            if (tx.getTransactionDate() == null) {
+                return;
+            }
+            long time = TransactionTimeIndex.toEpochSecond(tx.getTransactionDate());
+            latestTime = Math.max(latestTime, time);
+
+            AccountWindow window = windows.get(tx.getAccountNumber());
+            if (window == null) {
+                window = new AccountWindow(config.getMaxEventsPerAccount());
+                windows.put(tx.getAccountNumber(), window);
+            }
+            window.evictUpTo(Math.max(time, window.lastSeen()) - windowSeconds);
+
+            // Rules look at the history before this event is added
+            int inWindow = window.size() + 1;
+            if (inWindow > config.getMaxTransactions()) {
+                alert(FraudRule.VELOCITY, tx, time, inWindow + " transactions within " + config.getWindow());
+            }
+
+            double amount = tx.getTransactionAmount();
+            if (window.size() >= config.getSpikeMinHistory()
+                    && amount > config.getSpikeMultiplier() * window.mean()) {
+                alert(FraudRule.AMOUNT_SPIKE, tx, time,
+                        String.format("amount %.2f vs rolling mean %.2f", amount, window.mean()));
+            }
+
+            int sameMerchant = window.countMerchant(tx.getMerchantName()) + 1;
+            if (sameMerchant >= config.getRepeatMerchantCount()) {
+                alert(FraudRule.REPEAT_MERCHANT, tx, time,
+                        sameMerchant + " transactions at '" + tx.getMerchantName() + "' within " + config.getWindow());
+            }
+
+            window.add(time, amount, tx.getMerchantName());
+        }
+
+        private void alert(FraudRule rule, BankTransaction tx, long time, String detail) {
+            sink.accept(new FraudAlert(rule, tx.getTransactionId(), tx.getAccountNumber(), time, detail));
+        }
+
+        private void sweepIdleAccounts() {
+            long cutoff = latestTime - windowSeconds;
+            Iterator<AccountWindow> it = windows.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().lastSeen() <= cutoff) {
+                    it.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.challenge.assignment2;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ Replays the dataset through FraudRuleEngine and reports throughput and alerts per rule.
+
+ Usage: FraudStreamingApp [workers] [replays]
+ The dataset is sorted by date and replayed `replays` times, each copy shifted past the
+ previous one in time, so windows behave as they would on a longer live stream.
+ Events are prepared before the clock starts; only scoring is timed.
+*/
+public class FraudStreamingApp {
+
+    public static void main(String[] args) throws InterruptedException {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int replays = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        List<BankTransaction> source = new ArrayList<>(
+                new BankTransactionRepository(Path.of("data", "bankTransactionsDataset.csv")).findAll());
+        source.sort(Comparator.comparing(BankTransaction::getTransactionDate));
+
+        List<BankTransaction> events = replay(source, replays);
+        System.out.printf("%nReplaying %,d events (%d x %,d rows) through %d workers%n",
+                events.size(), replays, source.size(), workers);
+
+        Map<FraudRule, LongAdder> alertsByRule = new EnumMap<>(FraudRule.class);
+        for (FraudRule rule : FraudRule.values()) {
+            alertsByRule.put(rule, new LongAdder());
+        }
+
+        long start = System.nanoTime();
+        FraudRuleEngine engine = new FraudRuleEngine(workers, FraudRuleConfig.defaults(),
+                alert -> alertsByRule.get(alert.getRule()).increment());
+        for (BankTransaction event : events) {
+            engine.submit(event);
+        }
+        engine.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Processed %,d events in %.3f s -> %,.0f events/sec%n",
+                engine.processedCount(), seconds, engine.processedCount() / seconds);
+        System.out.println("\n**** Alerts by Rule ****");
+        alertsByRule.forEach((rule, count) -> System.out.printf("%-15s -> %,10d%n", rule, count.sum()));
+    }
+
+    private static List<BankTransaction> replay(List<BankTransaction> sorted, int replays) {
+        List<BankTransaction> events = new ArrayList<>(sorted.size() * replays);
+        if (sorted.isEmpty()) {
+            return events;
+        }
+        LocalDateTime first = sorted.get(0).getTransactionDate();
+        LocalDateTime last = sorted.get(sorted.size() - 1).getTransactionDate();
+        Duration span = Duration.between(first, last).plusDays(1);
+
+        for (int round = 0; round < replays; round++) {
+            Duration shift = span.multipliedBy(round);
+            for (BankTransaction tx : sorted) {
+                events.add(round == 0 ? tx : shifted(tx, shift));
+            }
+        }
+        return events;
+    }
+
+    private static BankTransaction shifted(BankTransaction tx, Duration shift) {
+        return new BankTransaction(tx.getTransactionId(), tx.getAccountNumber(), tx.getTransactionDate().plus(shift),
+                tx.getTransactionAmount(), tx.getTransactionType(), tx.getCustomerAge(), tx.getCustomerGender(),
+                tx.getCustomerIncome(), tx.getAccountBalance(), tx.getCategory(), tx.getMerchantName(),
+                tx.getPaymentMethod(), tx.getCity(), tx.isFraudulent(), tx.getTransactionStatus(),
+                tx.getLoyaltyPointsEarned(), tx.isDiscountApplied());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.challenge.assignment2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/*
+ Mergeable summary of one group: exact count/sum/min/max of a measure,
+ a HyperLogLog of the distinct values of a dimension and a KLL sketch of
+ the measure's distribution. All parts are filled in the same pass. A summary
+ built without a distinct dimension has no HyperLogLog, and one built only for
+ distinct counts has no KLL sketch; asking for the missing part throws.
+*/
+public class GroupSummary {
+
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final HyperLogLog distinct; // null when no distinct dimension is tracked
+    private final KllSketch quantiles;  // null when only distinct counts are tracked
+
+    public GroupSummary() {
+        this(new HyperLogLog(), new KllSketch());
+    }
+
+    GroupSummary(HyperLogLog distinct, KllSketch quantiles) {
+        this.distinct = distinct;
+        this.quantiles = quantiles;
+    }
+
+    // A summary of the measure only, with no distinct-count sketch.
+    static GroupSummary withoutDistinct() {
+        return new GroupSummary(null, new KllSketch());
+    }
+
+    // A summary of the exact figures and distinct counts, with no quantile sketch.
+    static GroupSummary withoutQuantiles() {
+        return new GroupSummary(new HyperLogLog(), null);
+    }
+
+    // Records one row: the hash of its distinct-dimension value and its measure value.
+    void add(long distinctHash, double value) {
+        add(value);
+        distinct.addHash(distinctHash);
+    }
+
+    // Records one row of a summary without a distinct dimension.
+    void add(double value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (quantiles != null) {
+            quantiles.add(value);
+        }
+    }
+
+    public void merge(GroupSummary other) {
+        if ((distinct == null) != (other.distinct == null)) {
+            throw new IllegalArgumentException("Cannot merge a summary with a distinct-count sketch and one without");
+        }
+        if ((quantiles == null) != (other.quantiles == null)) {
+            throw new IllegalArgumentException("Cannot merge a summary with a quantile sketch and one without");
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (distinct != null) {
+            distinct.merge(other.distinct);
+        }
+        if (quantiles != null) {
+            quantiles.merge(other.quantiles);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    // Approximate number of distinct values of the distinct dimension in this group.
+    public long getApproximateDistinctCount() {
+        if (distinct == null) {
+            throw new IllegalStateException("This summary was built without a distinct dimension");
+        }
+        return distinct.estimate();
+    }
+
+    // Approximate measure value at rank q in [0, 1].
+    public double getQuantile(double q) {
+        return quantileSketch().quantile(q);
+    }
+
+    public double[] getQuantiles(double... qs) {
+        return quantileSketch().quantiles(qs);
+    }
+
+    private KllSketch quantileSketch() {
+        if (quantiles == null) {
+            throw new IllegalStateException("This summary was built without a quantile sketch");
+        }
+        return quantiles;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(sum);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeBoolean(distinct != null);
+        if (distinct != null) {
+            distinct.writeTo(out);
+        }
+        out.writeBoolean(quantiles != null);
+        if (quantiles != null) {
+            quantiles.writeTo(out);
+        }
+    }
+
+    static GroupSummary readFrom(DataInput in) throws IOException {
+        long count = in.readLong();
+        double sum = in.readDouble();
+        double min = in.readDouble();
+        double max = in.readDouble();
+        HyperLogLog distinct = in.readBoolean() ? HyperLogLog.readFrom(in) : null;
+        KllSketch quantiles = in.readBoolean() ? KllSketch.readFrom(in) : null;
+        GroupSummary summary = new GroupSummary(distinct, quantiles);
+        summary.count = count;
+        summary.sum = sum;
+        summary.min = min;
+        summary.max = max;
+        return summary;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.challenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Analytics that are maintained incrementally as transactions arrive, for
+ * live feeds where recomputing BankingAnalyticsService from scratch is too
+ * expensive.
+ *
+ * Writers add to the current generation: striped accumulators (LongAdder/
+ * DoubleAdder per group in ConcurrentHashMaps), so add() is O(1) amortized and
+ * many writers can run in parallel without a lock. Top-N merchants keeps only
+ * the per-merchant totals and ranks them when read.
+ *
+ * snapshot() retires the current generation by swapping in an empty one, waits
+ * for the few add() calls already inside the retired generation to finish, and
+ * folds it into the last published AnalyticsSnapshot, producing a new immutable
+ * one. Writers never wait for a snapshot: new add() calls go straight to the new
+ * generation while the old one is merged. Snapshots therefore always describe one
+ * exact set of transactions. The in-flight count is a single AtomicLong, so each
+ * add()/addAll() call makes two atomic updates to one shared counter; addAll()
+ * spreads them over its whole batch.
+ *
+ * The merge is paid by the reader. The small category/city/payment-method/age-band
+ * maps are copied whole; merchant totals live in MERCHANT_SHARDS immutable shards,
+ * and only the shards holding a merchant that changed are copied. A snapshot after a
+ * few add() calls therefore costs O(merchants / MERCHANT_SHARDS) per touched shard,
+ * while one after a large batch still touches every shard, i.e. O(merchants). When
+ * nothing was added since the last snapshot, the published one is returned as is.
+ */
+public class IncrementalAnalyticsService {
+
+    static final int MERCHANT_SHARDS = 64;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>(new Generation());
+
+    // Guarded by this; only snapshot() reads or replaces them
+    private AnalyticsSnapshot published = new AnalyticsSnapshot(0, Map.of(), Map.of(), Map.of(),
+            Collections.nCopies(MERCHANT_SHARDS, Map.of()), Map.of(), 0, null);
+    private Map<String, Double> publishedSumByAgeBand = Map.of();
+    private Map<String, Long> publishedCountByAgeBand = Map.of();
+
+    public void add(BankTransaction transaction) {
+        Generation generation = enter();
+        try {
+            generation.apply(transaction);
+        } finally {
+            generation.inFlight.decrementAndGet();
+        }
+    }
+
+    // Adds a batch to a single generation; a snapshot sees all of it or none of it.
+    public void addAll(Collection<BankTransaction> batch) {
+        Generation generation = enter();
+        try {
+            for (BankTransaction transaction : batch) {
+                generation.apply(transaction);
+            }
+        } finally {
+            generation.inFlight.decrementAndGet();
+        }
+    }
+
+    // Consistent, immutable copy of every report.
+    public synchronized AnalyticsSnapshot snapshot() {
+        if (current.get().transactionCount.sum() == 0) {
+            return published;
+        }
+        Generation retired = current.getAndSet(new Generation());
+        // Writers that entered before the swap finish their add()/addAll(); no new ones arrive.
+        // The counter must be read atomically: a late entrant's increment/decrement pair is
+        // invisible only as a whole, which a striped LongAdder.sum() would not guarantee.
+        while (retired.inFlight.get() != 0) {
+            Thread.onSpinWait();
+        }
+        publish(retired);
+        return published;
+    }
+
+    // Registers a writer with the current generation, retrying if snapshot() retires it meanwhile.
+    private Generation enter() {
+        while (true) {
+            Generation generation = current.get();
+            generation.inFlight.incrementAndGet();
+            if (current.get() == generation) {
+                return generation;
+            }
+            generation.inFlight.decrementAndGet();
+        }
+    }
+
+    private void publish(Generation delta) {
+        Map<String, Double> sumByAgeBand = merge(publishedSumByAgeBand, delta.sumByAgeBand);
+        Map<String, Long> countByAgeBand = new HashMap<>(publishedCountByAgeBand);
+        delta.countByAgeBand.forEach((band, count) -> countByAgeBand.merge(band, count.sum(), Long::sum));
+        Map<String, Double> averageByAgeBand = new HashMap<>();
+        sumByAgeBand.forEach((band, sum) -> averageByAgeBand.put(band, sum / countByAgeBand.get(band)));
+
+        // Earlier generations hold earlier transactions, so the published one wins ties
+        BankTransaction largest = published.largestTransaction();
+        BankTransaction candidate = delta.largestTransaction.get();
+        if (largest == null || candidate.getTransactionAmount() > largest.getTransactionAmount()) {
+            largest = candidate;
+        }
+
+        published = new AnalyticsSnapshot(
+                published.transactionCount() + delta.transactionCount.sum(),
+                merge(published.totalAmountByCategory(), delta.totalByCategory),
+                merge(published.totalAmountByCity(), delta.totalByCity),
+                merge(published.totalAmountByPaymentMethod(), delta.totalByPaymentMethod),
+                mergeShards(published.merchantShards(), delta.totalByMerchant),
+                averageByAgeBand,
+                published.totalFraudulentAmount() + delta.totalFraudulentAmount.sum(),
+                largest);
+        publishedSumByAgeBand = Map.copyOf(sumByAgeBand);
+        publishedCountByAgeBand = Map.copyOf(countByAgeBand);
+    }
+
+    private static Map<String, Double> merge(Map<String, Double> base, Map<String, DoubleAdder> delta) {
+        Map<String, Double> merged = new HashMap<>(base);
+        delta.forEach((key, adder) -> merged.merge(key, adder.sum(), Double::sum));
+        return merged;
+    }
+
+    // Copies and updates only the shards that hold a key of the delta; the rest are shared.
+    private static List<Map<String, Double>> mergeShards(List<Map<String, Double>> shards,
+                                                         Map<String, DoubleAdder> delta) {
+        List<Map<String, Double>> changed = new ArrayList<>(Collections.nCopies(shards.size(), null));
+        delta.forEach((key, adder) -> {
+            int shard = shardOf(key);
+            Map<String, Double> copy = changed.get(shard);
+            if (copy == null) {
+                copy = new HashMap<>(shards.get(shard));
+                changed.set(shard, copy);
+            }
+            copy.merge(key, adder.sum(), Double::sum);
+        });
+        List<Map<String, Double>> merged = new ArrayList<>(shards);
+        for (int shard = 0; shard < merged.size(); shard++) {
+            if (changed.get(shard) != null) {
+                merged.set(shard, Map.copyOf(changed.get(shard)));
+            }
+        }
+        return merged;
+    }
+
+    static int shardOf(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (MERCHANT_SHARDS - 1);
+    }
+
+    // Accumulators for the transactions added since the previous snapshot.
+    private static final class Generation {
+        // add()/addAll() calls currently applying to this generation
+        private final AtomicLong inFlight = new AtomicLong();
+
+        private final LongAdder transactionCount = new LongAdder();
+        private final Map<String, DoubleAdder> totalByCategory = new ConcurrentHashMap<>();
+        private final Map<String, DoubleAdder> totalByCity = new ConcurrentHashMap<>();
+        private final Map<String, DoubleAdder> totalByPaymentMethod = new ConcurrentHashMap<>();
+        private final Map<String, DoubleAdder> totalByMerchant = new ConcurrentHashMap<>();
+        private final Map<String, DoubleAdder> sumByAgeBand = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> countByAgeBand = new ConcurrentHashMap<>();
+        private final DoubleAdder totalFraudulentAmount = new DoubleAdder();
+        private final AtomicReference<BankTransaction> largestTransaction = new AtomicReference<>();
+
+        private void apply(BankTransaction tx) {
+            double amount = tx.getTransactionAmount();
+
+            accumulate(totalByCategory, tx.getCategory(), amount);
+            accumulate(totalByCity, tx.getCity(), amount);
+            accumulate(totalByPaymentMethod, tx.getPaymentMethod(), amount);
+            accumulate(totalByMerchant, tx.getMerchantName(), amount);
+
+            String band = Dimension.toAgeBand(tx.getCustomerAge());
+            countByAgeBand.computeIfAbsent(band, key -> new LongAdder()).increment();
+            accumulate(sumByAgeBand, band, amount);
+
+            if (tx.isFraudulent()) {
+                totalFraudulentAmount.add(amount);
+            }
+
+            // Keep the earlier transaction on ties, matching BankingAnalyticsService
+            largestTransaction.accumulateAndGet(tx, (current, candidate) ->
+                    current == null || candidate.getTransactionAmount() > current.getTransactionAmount()
+                            ? candidate
+                            : current);
+
+            // Counted last: snapshot() skips a generation whose count is still 0
+            transactionCount.increment();
+        }
+
+        private static void accumulate(Map<String, DoubleAdder> totals, String key, double amount) {
+            DoubleAdder adder = totals.get(key);
+            if (adder == null) {
+                adder = totals.computeIfAbsent(key, k -> new DoubleAdder());
+            }
+            adder.add(amount);
+        }
+    }
+}
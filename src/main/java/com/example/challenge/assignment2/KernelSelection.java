@@ -0,0 +1,32 @@
+package com.example.challenge.assignment2;
+
+/*
+ Resolves the vector kernels once. VectorAmountKernels is only loaded by name after
+ checking that jdk.incubator.vector is in the boot layer, so a JVM without the module
+ never links against it and simply gets the scalar kernels.
+*/
+final class KernelSelection {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS_CLASS = "com.example.challenge.assignment2.VectorAmountKernels";
+
+    static final AmountKernels VECTOR = loadVectorKernels();
+
+    private KernelSelection() {
+    }
+
+    private static AmountKernels loadVectorKernels() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            AmountKernels kernels = (AmountKernels) Class.forName(VECTOR_KERNELS_CLASS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return kernels;
+        } catch (ReflectiveOperationException | LinkageError | IllegalStateException e) {
+            // e.g. vectors narrower than two doubles; the scalar kernels are just as good then
+            return null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.challenge.assignment2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch over double values.
+ *
+ * Values enter level 0; when the sketch outgrows its budget the lowest full
+ * level is sorted and every other item (random offset) is promoted to the
+ * next level with twice the weight. Level capacities shrink geometrically
+ * towards the bottom, so memory stays O(k) while the rank error is roughly
+ * 1.7 / k (~1% at the default k of 200). Sketches with the same k can be
+ * merged. Min and max are tracked exactly.
+ */
+public class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private final SplittableRandom random = new SplittableRandom(0x6A09E667F3BCC908L);
+
+    private double[][] levels = new double[1][MIN_LEVEL_CAPACITY];
+    private int[] levelSizes = new int[1];
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY + ", but was : " + k);
+        }
+        this.k = k;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        compressWhileOverBudget();
+    }
+
+    // Folds another sketch into this one; afterwards this sketch describes both inputs.
+    public void merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge KLL sketches with k " + k + " and " + other.k);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.levelSizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compressWhileOverBudget();
+    }
+
+    // Approximate value at rank q in [0, 1]; NaN when the sketch is empty.
+    public double quantile(double q) {
+        return quantiles(q)[0];
+    }
+
+    // Approximate values at each of the given ranks, sharing one sort of the retained items.
+    public double[] quantiles(double... qs) {
+        double[] result = new double[qs.length];
+        if (count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        int retained = retainedItems();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        Integer[] order = new Integer[retained];
+        int pos = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < levelSizes[level]; i++) {
+                values[pos] = levels[level][i];
+                weights[pos] = 1L << level;
+                order[pos] = pos;
+                pos++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight += weight;
+        }
+
+        for (int j = 0; j < qs.length; j++) {
+            double q = qs[j];
+            if (q < 0.0 || q > 1.0) {
+                throw new IllegalArgumentException("Quantile must be between 0 and 1, but was : " + q);
+            }
+            if (q == 0.0) {
+                result[j] = min;
+            } else if (q == 1.0) {
+                result[j] = max;
+            } else {
+                double target = q * totalWeight;
+                long cumulative = 0;
+                result[j] = max;
+                for (Integer index : order) {
+                    cumulative += weights[index];
+                    if (cumulative >= target) {
+                        result[j] = values[index];
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(k);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(levels.length);
+        for (int level = 0; level < levels.length; level++) {
+            out.writeInt(levelSizes[level]);
+            for (int i = 0; i < levelSizes[level]; i++) {
+                out.writeDouble(levels[level][i]);
+            }
+        }
+    }
+
+    public static KllSketch readFrom(DataInput in) throws IOException {
+        KllSketch sketch = new KllSketch(in.readInt());
+        sketch.count = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        int numLevels = in.readInt();
+        for (int level = 0; level < numLevels; level++) {
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(level, in.readDouble());
+            }
+        }
+        return sketch;
+    }
+
+    private void append(int level, double value) {
+        if (level >= levels.length) {
+            levels = Arrays.copyOf(levels, level + 1);
+            levelSizes = Arrays.copyOf(levelSizes, level + 1);
+            for (int l = 0; l < levels.length; l++) {
+                if (levels[l] == null) {
+                    levels[l] = new double[MIN_LEVEL_CAPACITY];
+                }
+            }
+        }
+        if (levelSizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][levelSizes[level]++] = value;
+    }
+
+    private void compressWhileOverBudget() {
+        while (retainedItems() > totalCapacity()) {
+            compressLowestFullLevel();
+        }
+    }
+
+    private void compressLowestFullLevel() {
+        int level = 0;
+        while (levelSizes[level] < capacity(level)) {
+            level++;
+        }
+
+        double[] items = levels[level];
+        int size = levelSizes[level];
+        Arrays.sort(items, 0, size);
+
+        // An odd item out stays behind at this level
+        int start = size % 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        levelSizes[level] = start;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int level = 0; level < levels.length; level++) {
+            total += capacity(level);
+        }
+        return total;
+    }
+
+    private int retainedItems() {
+        int total = 0;
+        for (int size : levelSizes) {
+            total += size;
+        }
+        return total;
+    }
+}
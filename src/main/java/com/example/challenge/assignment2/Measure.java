@@ -0,0 +1,27 @@
+package com.example.challenge.assignment2;
+
+import java.util.function.ToDoubleFunction;
+
+/*
+ Numeric columns of a BankTransaction that can be filtered on and aggregated.
+ Integer columns are widened to double so every aggregate runs over one array type.
+*/
+public enum Measure {
+
+    TRANSACTION_AMOUNT(BankTransaction::getTransactionAmount),
+    CUSTOMER_INCOME(BankTransaction::getCustomerIncome),
+    ACCOUNT_BALANCE(BankTransaction::getAccountBalance),
+    CUSTOMER_AGE(BankTransaction::getCustomerAge),
+    LOYALTY_POINTS(BankTransaction::getLoyaltyPointsEarned);
+
+    private final ToDoubleFunction<BankTransaction> extractor;
+
+    Measure(ToDoubleFunction<BankTransaction> extractor) {
+        this.extractor = extractor;
+    }
+
+    // Value of this measure for the given transaction.
+    public double valueOf(BankTransaction transaction) {
+        return extractor.applyAsDouble(transaction);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.challenge.assignment2;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+/*
+ Streams a CSV into an OffHeapTransactionStore and runs the reports over it.
+
+ Usage: OffHeapAnalyticsApp [csv] [mappedDirectory]
+ Without a directory the store uses direct buffers (size them with
+ -XX:MaxDirectMemorySize); with one it memory-maps scratch files there. Prints
+ load and scan times next to heap use and GC counts, which should stay flat
+ however large the file is, e.g. with -Xmx64m on a synthetic 10M-row file.
+*/
+public class OffHeapAnalyticsApp {
+
+    public static void main(String[] args) {
+        Path csv = Path.of(args.length > 0 ? args[0] : "data/bankTransactionsDataset.csv");
+        try (OffHeapTransactionStore store = args.length > 1
+                ? OffHeapTransactionStore.mapped(Path.of(args[1]))
+                : OffHeapTransactionStore.direct()) {
+
+            long start = System.nanoTime();
+            new BankTransactionRepository(csv).forEach(store::add);
+            double loadSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%nLoaded %,d rows from %s in %.2f s (%,.0f rows/sec)%n",
+                    store.size(), csv, loadSeconds, store.size() / loadSeconds);
+            printMemory(store);
+
+            OffHeapAnalyticsService analytics = new OffHeapAnalyticsService(store);
+            long gcBefore = gcCount();
+            start = System.nanoTime();
+            var byCategory = analytics.totalAmountByCategory();
+            var byCity = analytics.totalAmountByCity();
+            double fraud = analytics.totalFraudulentAmount();
+            BankTransaction largest = analytics.largestTransaction();
+            var topMerchants = analytics.topMerchantsByTotalAmount(5);
+            var byAgeBand = analytics.averageAmountByAgeBand();
+            double scanMillis = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("%nReports computed in %.1f ms with %d GC cycles%n", scanMillis, gcCount() - gcBefore);
+            System.out.printf("Categories: %d, cities: %d, fraudulent total: %.2f%n", byCategory.size(), byCity.size(), fraud);
+            System.out.println("Largest transaction: " + largest);
+            System.out.println("Top merchants: " + topMerchants);
+            System.out.println("Average by age band: " + byAgeBand);
+            printMemory(store);
+        }
+    }
+
+    private static void printMemory(OffHeapTransactionStore store) {
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("Heap used: %,d KB of %,d KB max; off-heap: %,d KB; GC cycles so far: %d%n",
+                (runtime.totalMemory() - runtime.freeMemory()) / 1024, runtime.maxMemory() / 1024,
+                store.offHeapBytes() / 1024, gcCount());
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.challenge.assignment2;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The BankingAnalyticsService reports, computed directly over an OffHeapTransactionStore.
+ *
+ * Each report is one pass over the relevant off-heap columns, segment by segment,
+ * accumulating into primitive arrays indexed by dictionary id. Nothing is allocated
+ * per row, so scanning hundreds of millions of rows creates no garbage; only the
+ * result maps are built on the heap.
+ */
+public class OffHeapAnalyticsService {
+
+    private final OffHeapTransactionStore store;
+
+    public OffHeapAnalyticsService(OffHeapTransactionStore store) {
+        this.store = store;
+    }
+
+    // Total transaction amount grouped by category.
+    public Map<String, Double> totalAmountByCategory() {
+        return totalAmountBy(Dimension.CATEGORY);
+    }
+
+    // Total transaction amount grouped by city.
+    public Map<String, Double> totalAmountByCity() {
+        return totalAmountBy(Dimension.CITY);
+    }
+
+    // Total transaction amount grouped by payment method.
+    public Map<String, Double> totalAmountByPaymentMethod() {
+        return totalAmountBy(Dimension.PAYMENT_METHOD);
+    }
+
+    // Total amount of fraudulent transactions.
+    public double totalFraudulentAmount() {
+        double total = 0.0;
+        for (int s = 0; s < store.segmentCount(); s++) {
+            ByteBuffer amounts = store.amounts.segment(s);
+            ByteBuffer flags = store.flags.segment(s);
+            int rows = store.rowsInSegment(s);
+            for (int i = 0; i < rows; i++) {
+                if ((flags.get(i) & OffHeapTransactionStore.FLAG_FRAUDULENT) != 0) {
+                    total += amounts.getDouble(i << 3);
+                }
+            }
+        }
+        return total;
+    }
+
+    // Largest single transaction (first one on ties), materialized on the heap.
+    public BankTransaction largestTransaction() {
+        long best = -1;
+        double bestAmount = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < store.segmentCount(); s++) {
+            ByteBuffer amounts = store.amounts.segment(s);
+            int rows = store.rowsInSegment(s);
+            long base = (long) s << store.segmentShift;
+            for (int i = 0; i < rows; i++) {
+                double amount = amounts.getDouble(i << 3);
+                if (best < 0 || amount > bestAmount) {
+                    best = base + i;
+                    bestAmount = amount;
+                }
+            }
+        }
+        return best < 0 ? null : store.view().moveTo(best).toTransaction();
+    }
+
+    // Top N merchants by total transaction amount.
+    public List<Map.Entry<String, Double>> topMerchantsByTotalAmount(int limit) {
+        return totalAmountBy(Dimension.MERCHANT).entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Average transaction amount by customer age band.
+    public Map<String, Double> averageAmountByAgeBand() {
+        // Ages fit in a short; bucket by exact age first, then fold into bands
+        double[] sums = new double[1 << 16];
+        long[] counts = new long[1 << 16];
+        for (int s = 0; s < store.segmentCount(); s++) {
+            ByteBuffer amounts = store.amounts.segment(s);
+            ByteBuffer ages = store.ages.segment(s);
+            int rows = store.rowsInSegment(s);
+            for (int i = 0; i < rows; i++) {
+                int age = ages.getShort(i << 1) & 0xFFFF;
+                sums[age] += amounts.getDouble(i << 3);
+                counts[age]++;
+            }
+        }
+
+        Map<String, double[]> bands = new HashMap<>();
+        for (int age = 0; age < counts.length; age++) {
+            if (counts[age] > 0) {
+                double[] band = bands.computeIfAbsent(Dimension.toAgeBand((short) age), key -> new double[2]);
+                band[0] += sums[age];
+                band[1] += counts[age];
+            }
+        }
+        Map<String, Double> result = new HashMap<>();
+        bands.forEach((band, sumAndCount) -> result.put(band, sumAndCount[0] / sumAndCount[1]));
+        return result;
+    }
+
+    // Total transaction amount per value of a stored dimension.
+    public Map<String, Double> totalAmountBy(Dimension dimension) {
+        List<String> dictionary = store.dictionaryOf(dimension);
+        OffHeapTransactionStore.Column ids = store.dimensionColumn(dimension);
+        double[] sums = new double[dictionary.size()];
+        for (int s = 0; s < store.segmentCount(); s++) {
+            ByteBuffer amounts = store.amounts.segment(s);
+            ByteBuffer idSegment = ids.segment(s);
+            int rows = store.rowsInSegment(s);
+            for (int i = 0; i < rows; i++) {
+                int id = idSegment.getInt(i << 2);
+                sums[id] += amounts.getDouble(i << 3);
+            }
+        }
+
+        // Every dictionary entry came from some row, so every id has a total
+        Map<String, Double> result = new HashMap<>();
+        for (int id = 0; id < sums.length; id++) {
+            result.put(dictionary.get(id), sums[id]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.challenge.assignment2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Transaction columns stored outside the Java heap, for datasets with hundreds of
+ * millions of rows.
+ *
+ * Every field is a fixed-width column (8 bytes for amounts, dates and the two halves
+ * of a UUID id, 4 for loyalty points and dictionary ids, 2 for age, 1 for flags).
+ * Columns are split into segments of 2^20 rows, each a direct ByteBuffer or a
+ * memory-mapped file. Per-row strings (account numbers, and transaction ids that
+ * are not UUIDs) go to an off-heap string area and are referenced by offset.
+ *
+ * The heap holds only the dictionaries of the dictionary-encoded dimensions. These
+ * are low-cardinality except MERCHANT, whose dictionary grows with the number of
+ * distinct merchants (not rows). Heap use is therefore flat in the row count but
+ * not independent of the data: a dataset with millions of distinct merchant names
+ * keeps all of them on the heap.
+ *
+ * Rows are read through a reusable TransactionView flyweight, or scanned column by
+ * column by OffHeapAnalyticsService; neither allocates per row. Appends are
+ * single-threaded; once loading is done any number of threads may read.
+ */
+public class OffHeapTransactionStore implements AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_SHIFT = 20;
+    // A string segment is segmentRows * STRING_BYTES_PER_ROW bytes; 2^25 * 32 = 2^30 is the largest that fits an int
+    static final int MAX_SEGMENT_SHIFT = 25;
+
+    // Dimensions with a stored dictionary id; AGE_BAND is derived from the age column.
+    // ACCOUNT_NUMBER is unique per row in practice, so it is kept in the string area instead.
+    static final List<Dimension> STORED_DIMENSIONS = List.of(Dimension.CATEGORY, Dimension.CITY,
+            Dimension.PAYMENT_METHOD, Dimension.MERCHANT, Dimension.TRANSACTION_TYPE,
+            Dimension.CUSTOMER_GENDER, Dimension.TRANSACTION_STATUS);
+
+    // Bytes of string area per row of segment capacity; account numbers and ids are ~18-36 bytes
+    private static final int STRING_BYTES_PER_ROW = 32;
+
+    static final int FLAG_FRAUDULENT = 1;
+    static final int FLAG_DISCOUNT = 2;
+    static final int FLAG_UUID_ID = 4;
+
+    // Creates the backing buffer for one column segment.
+    interface SegmentAllocator {
+        ByteBuffer allocate(String name, int bytes) throws IOException;
+    }
+
+    final int segmentShift;
+    final int segmentRows;
+    private final SegmentAllocator allocator;
+    private final Path scratchDirectory;
+    private final List<Path> createdFiles = new ArrayList<>();
+
+    final Column idHigh = new Column("id-high", 8);
+    final Column idLow = new Column("id-low", 8);
+    final Column epochSeconds = new Column("epoch-seconds", 8);
+    final Column amounts = new Column("amount", 8);
+    final Column incomes = new Column("income", 8);
+    final Column balances = new Column("balance", 8);
+    final Column loyaltyPoints = new Column("loyalty-points", 4);
+    final Column ages = new Column("age", 2);
+    final Column flags = new Column("flags", 1);
+    final Column accountNumbers = new Column("account-number", 8);
+    private final Map<Dimension, Column> dimensionIds = new EnumMap<>(Dimension.class);
+    private final List<Column> columns = new ArrayList<>();
+    // Account numbers, and transaction ids that are not UUIDs (idLow holds their offset)
+    final StringArea strings;
+
+    private final Map<Dimension, Map<String, Integer>> idsByValue = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, List<String>> dictionaries = new EnumMap<>(Dimension.class);
+
+    private long size;
+    private long capacity;
+    private boolean closed;
+
+    OffHeapTransactionStore(SegmentAllocator allocator, Path scratchDirectory, int segmentShift) {
+        if (segmentShift < 4 || segmentShift > MAX_SEGMENT_SHIFT) {
+            throw new IllegalArgumentException("Segment shift must be between 4 and " + MAX_SEGMENT_SHIFT
+                    + ", but was : " + segmentShift);
+        }
+        this.allocator = allocator;
+        this.scratchDirectory = scratchDirectory;
+        this.segmentShift = segmentShift;
+        this.segmentRows = 1 << segmentShift;
+
+        this.strings = new StringArea(segmentRows * STRING_BYTES_PER_ROW);
+
+        Collections.addAll(columns, idHigh, idLow, epochSeconds, amounts, incomes, balances, loyaltyPoints, ages, flags,
+                accountNumbers);
+        for (Dimension dimension : STORED_DIMENSIONS) {
+            Column column = new Column(dimension.name().toLowerCase(), 4);
+            dimensionIds.put(dimension, column);
+            columns.add(column);
+            idsByValue.put(dimension, new HashMap<>());
+            dictionaries.put(dimension, new ArrayList<>());
+        }
+    }
+
+    // Segments are direct ByteBuffers, released by the GC once the store is unreachable.
+    public static OffHeapTransactionStore direct() {
+        return new OffHeapTransactionStore(
+                (name, bytes) -> ByteBuffer.allocateDirect(bytes), null, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    // Segments are files mapped into memory; the OS pages them in and out, so the store can
+    // exceed physical memory. Each store gets its own fresh subdirectory of `directory`, so
+    // several stores (or leftovers of a crashed run) can share it; close() removes only that.
+    public static OffHeapTransactionStore mapped(Path directory) {
+        Objects.requireNonNull(directory, "directory must not be null");
+        Path storeDirectory;
+        try {
+            Files.createDirectories(directory);
+            storeDirectory = Files.createTempDirectory(directory, "offheap-store-");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create store directory in: " + directory, e);
+        }
+        return new OffHeapTransactionStore((name, bytes) -> {
+            try (FileChannel channel = FileChannel.open(storeDirectory.resolve(name + ".col"),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+        }, storeDirectory, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    public void add(BankTransaction tx) {
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+        if (size == capacity) {
+            grow();
+        }
+        long row = size;
+
+        int flagBits = (tx.isFraudulent() ? FLAG_FRAUDULENT : 0) | (tx.isDiscountApplied() ? FLAG_DISCOUNT : 0);
+        UUID uuid = parseUuid(tx.getTransactionId());
+        if (uuid != null) {
+            flagBits |= FLAG_UUID_ID;
+            idHigh.putLong(row, uuid.getMostSignificantBits());
+            idLow.putLong(row, uuid.getLeastSignificantBits());
+        } else {
+            idHigh.putLong(row, 0);
+            idLow.putLong(row, strings.append(tx.getTransactionId()));
+        }
+        accountNumbers.putLong(row, strings.append(tx.getAccountNumber()));
+
+        epochSeconds.putLong(row, tx.getTransactionDate() == null
+                ? Long.MIN_VALUE
+                : TransactionTimeIndex.toEpochSecond(tx.getTransactionDate()));
+        amounts.putDouble(row, tx.getTransactionAmount());
+        incomes.putDouble(row, tx.getCustomerIncome());
+        balances.putDouble(row, tx.getAccountBalance());
+        loyaltyPoints.putInt(row, tx.getLoyaltyPointsEarned());
+        ages.putShort(row, CompactTransaction.toShortAge(tx.getCustomerAge()));
+        flags.putByte(row, (byte) flagBits);
+        for (Dimension dimension : STORED_DIMENSIONS) {
+            dimensionIds.get(dimension).putInt(row, encode(dimension, dimension.valueOf(tx)));
+        }
+        size++;
+    }
+
+    public void addAll(Iterable<BankTransaction> transactions) {
+        for (BankTransaction tx : transactions) {
+            add(tx);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // A new flyweight positioned on row 0; move it with moveTo.
+    public TransactionView view() {
+        return new TransactionView(this);
+    }
+
+    // Visits every row with one shared view; the view must not be kept past the callback.
+    public void forEach(Consumer<TransactionView> action) {
+        TransactionView view = view();
+        for (long row = 0; row < size; row++) {
+            action.accept(view.moveTo(row));
+        }
+    }
+
+    // Distinct values of a stored dimension, indexed by dictionary id.
+    public List<String> dictionary(Dimension dimension) {
+        return Collections.unmodifiableList(dictionaryOf(dimension));
+    }
+
+    // Bytes held outside the heap (allocated segments, including unused tail rows).
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (Column column : columns) {
+            bytes += (long) column.segments.size() * segmentRows * column.width;
+        }
+        return bytes + (long) strings.segments.size() * strings.segmentBytes;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        size = 0;
+        capacity = 0;
+        for (Column column : columns) {
+            column.segments.clear();
+        }
+        strings.segments.clear();
+        if (scratchDirectory != null) {
+            // The directory is private to this store. Mapped regions stay valid until
+            // collected; unlinking the files is still safe
+            try {
+                for (Path file : createdFiles) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(scratchDirectory);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to delete store files in " + scratchDirectory, e);
+            }
+        }
+    }
+
+    int dimensionId(Dimension dimension, long row) {
+        return dimensionColumn(dimension).getInt(row);
+    }
+
+    Column dimensionColumn(Dimension dimension) {
+        Column column = dimensionIds.get(dimension);
+        if (column == null) {
+            throw new IllegalArgumentException("Dimension is not stored, but was : " + dimension);
+        }
+        return column;
+    }
+
+    List<String> dictionaryOf(Dimension dimension) {
+        List<String> dictionary = dictionaries.get(dimension);
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Dimension is not stored, but was : " + dimension);
+        }
+        return dictionary;
+    }
+
+    String transactionId(long row) {
+        if ((flags.getByte(row) & FLAG_UUID_ID) != 0) {
+            return new UUID(idHigh.getLong(row), idLow.getLong(row)).toString();
+        }
+        return strings.get(idLow.getLong(row));
+    }
+
+    String accountNumber(long row) {
+        return strings.get(accountNumbers.getLong(row));
+    }
+
+    int segmentCount() {
+        return (int) ((size + segmentRows - 1) >>> segmentShift);
+    }
+
+    // Number of filled rows in the given segment.
+    int rowsInSegment(int segment) {
+        return (int) Math.min(segmentRows, size - ((long) segment << segmentShift));
+    }
+
+    private int encode(Dimension dimension, String value) {
+        Map<String, Integer> lookup = idsByValue.get(dimension);
+        Integer id = lookup.get(value);
+        if (id == null) {
+            List<String> dictionary = dictionaries.get(dimension);
+            id = dictionary.size();
+            lookup.put(value, id);
+            dictionary.add(value);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int segment = segmentCount();
+        for (Column column : columns) {
+            column.segments.add(allocate(column.name, segment, segmentRows * column.width));
+        }
+        capacity += segmentRows;
+    }
+
+    private ByteBuffer allocate(String column, int segment, int bytes) {
+        String name = column + "-" + segment;
+        try {
+            ByteBuffer buffer = allocator.allocate(name, bytes).order(ByteOrder.nativeOrder());
+            if (scratchDirectory != null) {
+                createdFiles.add(scratchDirectory.resolve(name + ".col"));
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to allocate segment " + segment + " of column " + column, e);
+        }
+    }
+
+    // Canonical 36-character UUIDs only; anything else is kept as a plain string.
+    private static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-'
+                || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            // Round-trip check so upper-case ids are not silently lower-cased
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Append-only UTF-8 strings in off-heap segments. An entry is a 4-byte length (-1 for
+    // null) followed by the bytes, and never straddles two segments.
+    final class StringArea {
+        final int segmentBytes;
+        final List<ByteBuffer> segments = new ArrayList<>();
+        private long end;
+
+        StringArea(int segmentBytes) {
+            this.segmentBytes = segmentBytes;
+        }
+
+        // Stores the value and returns its offset.
+        long append(String value) {
+            byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+            int needed = Integer.BYTES + bytes.length;
+            if (needed > segmentBytes) {
+                throw new IllegalArgumentException("String of " + bytes.length
+                        + " bytes does not fit a string segment of " + segmentBytes + " bytes");
+            }
+            long allocated = (long) segments.size() * segmentBytes;
+            if (end + needed > allocated) {
+                end = allocated;
+                segments.add(allocate("strings", segments.size(), segmentBytes));
+            }
+            long offset = end;
+            ByteBuffer segment = segments.get((int) (offset / segmentBytes));
+            int position = (int) (offset % segmentBytes);
+            segment.putInt(position, value == null ? -1 : bytes.length);
+            segment.put(position + Integer.BYTES, bytes);
+            end += needed;
+            return offset;
+        }
+
+        String get(long offset) {
+            ByteBuffer segment = segments.get((int) (offset / segmentBytes));
+            int position = (int) (offset % segmentBytes);
+            int length = segment.getInt(position);
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            segment.get(position + Integer.BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    // One fixed-width column split into equally sized segments.
+    final class Column {
+        final String name;
+        final int width;
+        final List<ByteBuffer> segments = new ArrayList<>();
+
+        Column(String name, int width) {
+            this.name = name;
+            this.width = width;
+        }
+
+        ByteBuffer segment(int index) {
+            return segments.get(index);
+        }
+
+        long getLong(long row) {
+            return segments.get((int) (row >>> segmentShift)).getLong(offset(row));
+        }
+
+        double getDouble(long row) {
+            return segments.get((int) (row >>> segmentShift)).getDouble(offset(row));
+        }
+
+        int getInt(long row) {
+            return segments.get((int) (row >>> segmentShift)).getInt(offset(row));
+        }
+
+        short getShort(long row) {
+            return segments.get((int) (row >>> segmentShift)).getShort(offset(row));
+        }
+
+        byte getByte(long row) {
+            return segments.get((int) (row >>> segmentShift)).get(offset(row));
+        }
+
+        void putLong(long row, long value) {
+            segments.get((int) (row >>> segmentShift)).putLong(offset(row), value);
+        }
+
+        void putDouble(long row, double value) {
+            segments.get((int) (row >>> segmentShift)).putDouble(offset(row), value);
+        }
+
+        void putInt(long row, int value) {
+            segments.get((int) (row >>> segmentShift)).putInt(offset(row), value);
+        }
+
+        void putShort(long row, short value) {
+            segments.get((int) (row >>> segmentShift)).putShort(offset(row), value);
+        }
+
+        void putByte(long row, byte value) {
+            segments.get((int) (row >>> segmentShift)).put(offset(row), value);
+        }
+
+        private int offset(long row) {
+            return (int) (row & (segmentRows - 1)) * width;
+        }
+    }
+}
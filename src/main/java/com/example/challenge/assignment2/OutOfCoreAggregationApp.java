@@ -0,0 +1,55 @@
+package com.example.challenge.assignment2;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/*
+ Totals a CSV by a high-cardinality dimension with SpillingAggregator and prints the top groups.
+
+ Usage: OutOfCoreAggregationApp [csv] [dimension] [budgetMB] [top]
+ Defaults: the bundled dataset, ACCOUNT_NUMBER, 64 MB, 10. Rows are streamed with
+ BankTransactionRepository.forEach and groups go to disk whenever the budget is passed,
+ so neither the rows nor the full group map ever need to fit in memory.
+*/
+public class OutOfCoreAggregationApp {
+
+    public static void main(String[] args) {
+        Path csv = Path.of(args.length > 0 ? args[0] : "data/bankTransactionsDataset.csv");
+        Dimension dimension = Dimension.valueOf(args.length > 1 ? args[1] : "ACCOUNT_NUMBER");
+        long budgetBytes = (args.length > 2 ? Long.parseLong(args[2]) : 64L) * 1024 * 1024;
+        int top = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        long start = System.nanoTime();
+        long[] groupCount = new long[1];
+        PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+        try (SpillingAggregator aggregator = new SpillingAggregator(budgetBytes, 64, Path.of("target", "spill"))) {
+            new BankTransactionRepository(csv).forEach(tx -> aggregator.add(dimension.valueOf(tx), tx.getTransactionAmount()));
+            double scanSeconds = (System.nanoTime() - start) / 1e9;
+
+            aggregator.forEachGroup((key, sumCents, count) -> {
+                groupCount[0]++;
+                best.add(Map.entry(key, sumCents / 100.0));
+                if (best.size() > top) {
+                    best.poll();
+                }
+            });
+            double totalSeconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%n%,d %s groups from %s with a %,d MB budget%n",
+                    groupCount[0], dimension, csv, budgetBytes / (1024 * 1024));
+            System.out.printf("Scan %.2f s, total %.2f s; %d spills, %,d partial aggregates written%n",
+                    scanSeconds, totalSeconds, aggregator.getSpillCount(), aggregator.getSpilledRecords());
+        }
+
+        List<Map.Entry<String, Double>> ranking = new ArrayList<>(best);
+        ranking.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        System.out.printf("%nTop %d by total amount:%n", top);
+        for (Map.Entry<String, Double> entry : ranking) {
+            System.out.printf("  %-30s %,15.2f%n", entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.challenge.assignment2;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/*
+ Demonstrates partition pruning with PartitionedTransactionRepository.
+
+ Usage: PartitionedDatasetApp [directory] [fromDate] [toDate] [sourceCsv]
+ Defaults: target/partitions, 2023-06-01 to 2023-06-08, the bundled dataset. If the
+ directory holds no partitions yet, sourceCsv is first split into one file per day,
+ date=YYYY-MM-DD/part-0.csv. The manifest is deleted, then the app times a date-range
+ query without it (pruned by the date= paths alone), a full load (which builds the
+ manifest), and the same query again, now also refined by the manifest's min/max dates.
+*/
+public class PartitionedDatasetApp {
+
+    private static final String GLOB = "date=*/*.csv";
+    // Lines buffered across all days before they are appended to their files
+    private static final int SPLIT_BUFFER_LINES = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "target/partitions");
+        LocalDate from = LocalDate.parse(args.length > 1 ? args[1] : "2023-06-01");
+        LocalDate to = LocalDate.parse(args.length > 2 ? args[2] : "2023-06-08");
+        Path source = Path.of(args.length > 3 ? args[3] : "data/bankTransactionsDataset.csv");
+
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(PartitionedTransactionRepository.MANIFEST_FILE));
+        PartitionedTransactionRepository repository = new PartitionedTransactionRepository(directory, GLOB);
+        if (repository.listFiles().isEmpty()) {
+            long start = System.nanoTime();
+            int days = splitByDay(source, directory);
+            System.out.printf("%nSplit %s into %,d daily partitions in %.2f s%n", source, days, (System.nanoTime() - start) / 1e9);
+        }
+
+        String range = "[" + from + ", " + to + ")";
+        System.out.println();
+        timeRun("Range query " + range + ", no manifest", repository,
+                () -> repository.findBetween(from.atStartOfDay(), to.atStartOfDay()).size());
+        timeRun("Full load", repository, () -> repository.findAll().size());
+        timeRun("Range query " + range + ", with manifest", repository,
+                () -> repository.findBetween(from.atStartOfDay(), to.atStartOfDay()).size());
+    }
+
+    private static void timeRun(String label, PartitionedTransactionRepository repository, IntSupplier run) {
+        long readBefore = repository.getPartitionsRead();
+        long start = System.nanoTime();
+        int rows = run.getAsInt();
+        System.out.printf("%-50s %,10d rows  %,6d partitions read  %,9.1f ms%n",
+                label, rows, repository.getPartitionsRead() - readBefore, (System.nanoTime() - start) / 1e6);
+    }
+
+    // Copies each data line of the CSV into date=<day>/part-0.csv under the directory.
+    // Transaction_Date is the third column, and the two columns before it never contain commas.
+    static int splitByDay(Path source, Path directory) throws IOException {
+        Map<String, List<String>> buffered = new HashMap<>();
+        List<String> written = new ArrayList<>();
+        String header;
+        try (BufferedReader reader = Files.newBufferedReader(source)) {
+            header = reader.readLine();
+            int pending = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                int dateStart = line.indexOf(',', line.indexOf(',') + 1) + 1;
+                String day = line.substring(dateStart, dateStart + 10);
+                buffered.computeIfAbsent(day, key -> new ArrayList<>()).add(line);
+                if (++pending >= SPLIT_BUFFER_LINES) {
+                    flush(buffered, directory, header, written);
+                    pending = 0;
+                }
+            }
+        }
+        flush(buffered, directory, header, written);
+        return written.size();
+    }
+
+    private static void flush(Map<String, List<String>> buffered, Path directory, String header, List<String> written)
+            throws IOException {
+        for (Map.Entry<String, List<String>> entry : buffered.entrySet()) {
+            Path file = directory.resolve("date=" + entry.getKey()).resolve("part-0.csv");
+            List<String> lines = entry.getValue();
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                lines.add(0, header);
+                written.add(entry.getKey());
+            }
+            Files.write(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        buffered.clear();
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.challenge.assignment2;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads a dataset that is split across many CSV files (e.g. one per day).
+ *
+ * Partitions are the files under a root directory whose relative path matches a glob,
+ * such as "**.csv" or one naming date=YYYY-MM-DD subdirectories. They are read in
+ * parallel, each by its own BankTransactionRepository, and results keep partition
+ * (path) order.
+ *
+ * findBetween prunes in two steps. First, a path segment of the form date=YYYY-MM-DD
+ * declares that the partition holds only rows of that day, so partitions of other
+ * days are skipped without any I/O, even on a directory that was never scanned; a
+ * one-week query over a year of daily files opens seven of them. A row filed under
+ * the wrong date= directory is therefore not found, as in Hive-style layouts.
+ *
+ * Second, a manifest file in the root caches each partition's size, modification
+ * time, row count and min/max Transaction_Date, which refines the path range (and is
+ * the only pruning for partitions without a date= segment). Entries are refreshed
+ * whenever a partition is read and its size or modification time no longer match;
+ * a partition without a valid entry is never skipped by the manifest.
+ */
+public class PartitionedTransactionRepository {
+
+    static final String MANIFEST_FILE = ".partitions.manifest";
+    private static final String MANIFEST_HEADER = "path,size_bytes,last_modified_millis,rows,min_epoch_second,max_epoch_second";
+
+    private final Path root;
+    private final String glob;
+    private final int threads;
+    private final AtomicLong partitionsRead = new AtomicLong();
+
+    // Manifest entries by relative path, loaded on first use
+    private Map<String, Partition> manifest;
+
+    public PartitionedTransactionRepository(Path root, String glob) {
+        this(root, glob, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PartitionedTransactionRepository(Path root, String glob, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but was : " + threads);
+        }
+        this.root = Objects.requireNonNull(root, "root must not be null");
+        this.glob = Objects.requireNonNull(glob, "glob must not be null");
+        this.threads = threads;
+    }
+
+    // Loads every partition.
+    public List<BankTransaction> findAll() {
+        return load(listFiles(), null, null);
+    }
+
+    // Loads the transactions dated in [from, to), reading only partitions that can contain them.
+    public List<BankTransaction> findBetween(LocalDateTime from, LocalDateTime to) {
+        Objects.requireNonNull(from, "from must not be null");
+        Objects.requireNonNull(to, "to must not be null");
+        List<Path> files = listFiles();
+        List<Path> candidates = new ArrayList<>();
+        synchronized (this) {
+            for (Path file : files) {
+                LocalDate day = partitionDate(root.relativize(file));
+                if (day != null && !(day.atStartOfDay().isBefore(to) && day.plusDays(1).atStartOfDay().isAfter(from))) {
+                    continue; // pruned by path alone
+                }
+                Partition partition = current(file);
+                if (partition == null || partition.overlaps(from, to)) {
+                    candidates.add(file);
+                }
+            }
+        }
+        return load(candidates, from, to);
+    }
+
+    // Metadata for every partition, scanning the ones the manifest does not cover yet.
+    public List<Partition> partitions() {
+        List<Path> files = listFiles();
+        List<Path> stale = new ArrayList<>();
+        synchronized (this) {
+            for (Path file : files) {
+                if (current(file) == null) {
+                    stale.add(file);
+                }
+            }
+        }
+        if (!stale.isEmpty()) {
+            load(stale, LocalDateTime.MIN, LocalDateTime.MIN); // matches nothing, but records metadata
+        }
+        synchronized (this) {
+            return files.stream().map(this::current).collect(Collectors.toList());
+        }
+    }
+
+    // Number of partition files opened so far, across all calls.
+    public long getPartitionsRead() {
+        return partitionsRead.get();
+    }
+
+    // Partition files under root matching the glob, in path order; the manifest itself never is one.
+    List<Path> listFiles() {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(file -> !isManifest(file))
+                    .filter(file -> matcher.matches(root.relativize(file)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list partitions under: " + root, e);
+        }
+    }
+
+    private static boolean isManifest(Path file) {
+        String name = file.getFileName().toString();
+        return name.equals(MANIFEST_FILE) || name.equals(MANIFEST_FILE + ".tmp");
+    }
+
+    // The day named by a date=YYYY-MM-DD segment of the relative path, or null if there is none.
+    static LocalDate partitionDate(Path relative) {
+        for (Path segment : relative) {
+            String name = segment.toString();
+            if (name.startsWith("date=")) {
+                try {
+                    return LocalDate.parse(name.substring("date=".length()));
+                } catch (DateTimeParseException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Reads the files in parallel, keeping rows in [from, to) (all rows when from is null),
+    // and refreshes their manifest entries.
+    private List<BankTransaction> load(List<Path> files, LocalDateTime from, LocalDateTime to) {
+        if (files.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, files.size()), runnable -> {
+            Thread thread = new Thread(runnable, "Partition-Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<PartitionLoad>> loads = new ArrayList<>();
+            for (Path file : files) {
+                loads.add(pool.submit(() -> loadPartition(file, from, to)));
+            }
+
+            List<BankTransaction> result = new ArrayList<>();
+            List<Partition> scanned = new ArrayList<>();
+            for (Future<PartitionLoad> load : loads) {
+                PartitionLoad partition = load.get();
+                result.addAll(partition.transactions);
+                scanned.add(partition.metadata);
+            }
+            record(scanned);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading partitions under " + root, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Partition load failed under " + root, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private PartitionLoad loadPartition(Path file, LocalDateTime from, LocalDateTime to) throws IOException {
+        // Stat before reading: if the file changes meanwhile, the entry is stale and is rebuilt next time
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        partitionsRead.incrementAndGet();
+        List<BankTransaction> transactions = new ArrayList<>();
+        long[] stats = {0, Long.MAX_VALUE, Long.MIN_VALUE}; // rows, min, max epoch second
+        new BankTransactionRepository(file).forEach(tx -> {
+            stats[0]++;
+            LocalDateTime date = tx.getTransactionDate();
+            if (date != null) {
+                long second = TransactionTimeIndex.toEpochSecond(date);
+                stats[1] = Math.min(stats[1], second);
+                stats[2] = Math.max(stats[2], second);
+            }
+            if (from == null || (date != null && !date.isBefore(from) && date.isBefore(to))) {
+                transactions.add(tx);
+            }
+        });
+
+        String relative = root.relativize(file).toString();
+        return new PartitionLoad(transactions, new Partition(relative, size, modified, stats[0], stats[1], stats[2]));
+    }
+
+    // The manifest entry for a file if its size and modification time still match.
+    private Partition current(Path file) {
+        if (manifest == null) {
+            manifest = readManifest();
+        }
+        Partition partition = manifest.get(root.relativize(file).toString());
+        try {
+            if (partition != null
+                    && partition.sizeBytes == Files.size(file)
+                    && partition.lastModifiedMillis == Files.getLastModifiedTime(file).toMillis()) {
+                return partition;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to stat partition: " + file, e);
+        }
+    }
+
+    private synchronized void record(List<Partition> scanned) {
+        if (manifest == null) {
+            manifest = readManifest();
+        }
+        boolean changed = false;
+        for (Partition partition : scanned) {
+            changed |= !partition.equals(manifest.put(partition.path, partition));
+        }
+        if (changed) {
+            writeManifest();
+        }
+    }
+
+    private Map<String, Partition> readManifest() {
+        Map<String, Partition> entries = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(root.resolve(MANIFEST_FILE))) {
+            String line = reader.readLine();
+            if (!MANIFEST_HEADER.equals(line)) {
+                return entries; // unknown format: rebuild it
+            }
+            while ((line = reader.readLine()) != null) {
+                Partition partition = Partition.parse(line);
+                if (partition != null) {
+                    entries.put(partition.path, partition);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // first use of this directory
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read partition manifest: " + root.resolve(MANIFEST_FILE), e);
+        }
+        return entries;
+    }
+
+    // Rewrites the manifest through a temp file, so readers never see a half-written one.
+    private void writeManifest() {
+        Path target = root.resolve(MANIFEST_FILE);
+        Path temp = root.resolve(MANIFEST_FILE + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                writer.write(MANIFEST_HEADER);
+                writer.newLine();
+                List<String> paths = new ArrayList<>(manifest.keySet());
+                paths.sort(null);
+                for (String path : paths) {
+                    writer.write(manifest.get(path).format());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write partition manifest: " + target, e);
+        }
+    }
+
+    private static final class PartitionLoad {
+        private final List<BankTransaction> transactions;
+        private final Partition metadata;
+
+        PartitionLoad(List<BankTransaction> transactions, Partition metadata) {
+            this.transactions = transactions;
+            this.metadata = metadata;
+        }
+    }
+
+    // Cached metadata of one partition file; paths are relative to the repository root.
+    public static final class Partition {
+        private final String path;
+        private final long sizeBytes;
+        private final long lastModifiedMillis;
+        private final long rows;
+        private final long minEpochSecond; // Long.MAX_VALUE when no row has a date
+        private final long maxEpochSecond; // Long.MIN_VALUE when no row has a date
+
+        Partition(String path, long sizeBytes, long lastModifiedMillis, long rows, long minEpochSecond, long maxEpochSecond) {
+            this.path = path;
+            this.sizeBytes = sizeBytes;
+            this.lastModifiedMillis = lastModifiedMillis;
+            this.rows = rows;
+            this.minEpochSecond = minEpochSecond;
+            this.maxEpochSecond = maxEpochSecond;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        // Earliest Transaction_Date in the file, or null if it has no dated rows.
+        public LocalDateTime getMinDate() {
+            return minEpochSecond > maxEpochSecond ? null : TransactionTimeIndex.toDateTime(minEpochSecond);
+        }
+
+        // Latest Transaction_Date in the file, or null if it has no dated rows.
+        public LocalDateTime getMaxDate() {
+            return minEpochSecond > maxEpochSecond ? null : TransactionTimeIndex.toDateTime(maxEpochSecond);
+        }
+
+        // Whether [minDate, maxDate] intersects [from, to).
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return minEpochSecond <= maxEpochSecond
+                    && maxEpochSecond >= TransactionTimeIndex.toEpochSecond(from)
+                    && minEpochSecond < TransactionTimeIndex.toEpochSecond(to);
+        }
+
+        String format() {
+            return path + "," + sizeBytes + "," + lastModifiedMillis + "," + rows + "," + minEpochSecond + "," + maxEpochSecond;
+        }
+
+        // Parses one manifest line (the path may contain commas); null for a malformed line.
+        static Partition parse(String line) {
+            String[] fields = line.split(",");
+            if (fields.length < 6) {
+                return null;
+            }
+            int n = fields.length;
+            try {
+                return new Partition(
+                        String.join(",", Arrays.copyOf(fields, n - 5)),
+                        Long.parseLong(fields[n - 5]),
+                        Long.parseLong(fields[n - 4]),
+                        Long.parseLong(fields[n - 3]),
+                        Long.parseLong(fields[n - 2]),
+                        Long.parseLong(fields[n - 1]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Partition)) {
+                return false;
+            }
+            Partition other = (Partition) o;
+            return path.equals(other.path)
+                    && sizeBytes == other.sizeBytes
+                    && lastModifiedMillis == other.lastModifiedMillis
+                    && rows == other.rows
+                    && minEpochSecond == other.minEpochSecond
+                    && maxEpochSecond == other.maxEpochSecond;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, sizeBytes, lastModifiedMillis, rows, minEpochSecond, maxEpochSecond);
+        }
+
+        @Override
+        public String toString() {
+            return "Partition{" + path + ", rows=" + rows + ", " + getMinDate() + " .. " + getMaxDate() + "}";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.challenge.assignment2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ Compares synchronous reads with PrefetchingInputStream read-ahead, on a cold and a warm page cache.
+
+ Usage: PrefetchReadApp [csv] [blockMB] [readAheadBlocks]
+ Defaults: target/synthetic.csv, 8 MB blocks, 2 blocks of read-ahead. For each reader the
+ file is drained raw (I/O only) and then fully loaded with findAll (I/O + parsing), once
+ right after dropping the page cache and once warm. Dropping the cache writes to
+ /proc/sys/vm/drop_caches, which needs root; without it the cold rows are skipped.
+*/
+public class PrefetchReadApp {
+
+    private static final Path DROP_CACHES = Path.of("/proc/sys/vm/drop_caches");
+
+    public static void main(String[] args) throws IOException {
+        Path csv = Path.of(args.length > 0 ? args[0] : "target/synthetic.csv");
+        int blockSize = (args.length > 1 ? Integer.parseInt(args[1]) : 8) * 1024 * 1024;
+        int readAhead = args.length > 2 ? Integer.parseInt(args[2]) : PrefetchingInputStream.DEFAULT_READ_AHEAD_BLOCKS;
+        double megabytes = Files.size(csv) / (1024.0 * 1024.0);
+
+        // Untimed loads in the measured configurations first, so no measured run also pays for JIT compilation
+        for (int depth : new int[]{0, readAhead}) {
+            new BankTransactionRepository(csv, StageProfiler.enabled(), blockSize, depth).findAll();
+        }
+
+        boolean canDropCaches = dropCaches();
+        System.out.printf("%n%s: %.1f MB, %d MB blocks, read-ahead %d%s%n", csv, megabytes,
+                blockSize / (1024 * 1024), readAhead,
+                canDropCaches ? "" : " (cannot write " + DROP_CACHES + ": cold runs skipped)");
+        System.out.printf("%-12s %-6s %-9s %10s %12s %12s %14s%n",
+                "Reader", "Cache", "Workload", "Time ms", "MB/sec", "Rows/sec", "I/O wait ms");
+
+        for (String cache : canDropCaches ? new String[]{"cold", "warm"} : new String[]{"warm"}) {
+            for (int depth : new int[]{0, readAhead}) {
+                String reader = depth == 0 ? "synchronous" : "prefetch";
+
+                prepare(csv, cache);
+                long start = System.nanoTime();
+                long waitNanos = drain(csv, blockSize, depth);
+                print(reader, cache, "raw read", System.nanoTime() - start, megabytes, -1, waitNanos);
+
+                prepare(csv, cache);
+                StageProfiler profiler = StageProfiler.enabled();
+                start = System.nanoTime();
+                int rows = new BankTransactionRepository(csv, profiler, blockSize, depth).findAll().size();
+                long elapsed = System.nanoTime() - start;
+                long readNanos = profiler.getTimers().stream()
+                        .filter(timer -> timer.getName().equals("read file"))
+                        .mapToLong(StageProfiler.Timer::getTotalNanos)
+                        .sum();
+                print(reader, cache, "findAll", elapsed, megabytes, rows, readNanos);
+            }
+        }
+    }
+
+    // Reads the whole file and returns the time spent blocked on reads.
+    private static long drain(Path csv, int blockSize, int readAhead) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long waitNanos = 0;
+        try (InputStream in = readAhead == 0
+                ? Files.newInputStream(csv)
+                : new PrefetchingInputStream(csv, blockSize, readAhead)) {
+            while (true) {
+                long start = System.nanoTime();
+                int count = in.read(buffer);
+                if (readAhead == 0) {
+                    waitNanos += System.nanoTime() - start;
+                }
+                if (count < 0) {
+                    break;
+                }
+            }
+            if (in instanceof PrefetchingInputStream) {
+                waitNanos = ((PrefetchingInputStream) in).getWaitNanos();
+            }
+        }
+        return waitNanos;
+    }
+
+    // Puts the file in the requested cache state before a run.
+    private static void prepare(Path csv, String cache) throws IOException {
+        if (cache.equals("cold")) {
+            dropCaches();
+        } else {
+            drain(csv, PrefetchingInputStream.DEFAULT_BLOCK_SIZE, 0);
+        }
+    }
+
+    private static boolean dropCaches() {
+        try {
+            Files.writeString(DROP_CACHES, "1");
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static void print(String reader, String cache, String workload, long nanos, double megabytes,
+                              int rows, long waitNanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-12s %-6s %-9s %10.0f %12.1f %12s %14.0f%n", reader, cache, workload, nanos / 1e6,
+                megabytes / seconds, rows < 0 ? "-" : String.format("%,.0f", rows / seconds), waitNanos / 1e6);
+    }
+}
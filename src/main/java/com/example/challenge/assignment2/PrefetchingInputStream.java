@@ -0,0 +1,208 @@
+package com.example.challenge.assignment2;
+
+import com.example.challenge.assignment1.BoundedBlockingQueue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * InputStream over a file that reads ahead in large blocks on a background thread.
+ *
+ * A reader thread fills blocks of blockSize bytes from a FileChannel and hands them
+ * over through a BoundedBlockingQueue holding up to readAheadBlocks filled blocks,
+ * while the caller parses the current one. With readAheadBlocks = 1 this is classic
+ * double buffering; deeper read-ahead absorbs bursts of slow I/O. Blocks are recycled
+ * through a second queue, so at most readAheadBlocks + 1 buffers (each no larger than
+ * the file) are ever allocated.
+ *
+ * Read failures on the background thread are rethrown by the next read(). close()
+ * stops the reader and closes the file. Not thread-safe for multiple consumers.
+ */
+public class PrefetchingInputStream extends InputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_READ_AHEAD_BLOCKS = 2;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final BoundedBlockingQueue<Block> filled;
+    private final BoundedBlockingQueue<Block> free;
+    private final Thread reader;
+
+    private Block current;
+    private int position;
+    private boolean finished;
+    private boolean closed;
+    // Time the caller spent blocked waiting for the reader, i.e. I/O not hidden behind parsing
+    private long waitNanos;
+
+    public PrefetchingInputStream(Path file) throws IOException {
+        this(file, DEFAULT_BLOCK_SIZE, DEFAULT_READ_AHEAD_BLOCKS);
+    }
+
+    public PrefetchingInputStream(Path file, int blockSize, int readAheadBlocks) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive, but was : " + blockSize);
+        }
+        if (readAheadBlocks <= 0) {
+            throw new IllegalArgumentException("Read-ahead depth must be positive, but was : " + readAheadBlocks);
+        }
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        // Small files do not need full-size blocks
+        int bufferSize = (int) Math.max(1, Math.min(blockSize, channel.size()));
+
+        this.filled = new BoundedBlockingQueue<>(readAheadBlocks);
+        this.free = new BoundedBlockingQueue<>(readAheadBlocks + 1);
+        try {
+            for (int i = 0; i < readAheadBlocks + 1; i++) {
+                free.put(new Block(new byte[bufferSize]));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            channel.close();
+            throw new IllegalStateException("Interrupted while allocating read-ahead buffers for " + file, e);
+        }
+
+        this.reader = new Thread(this::readBlocks, "Prefetch-Reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed: " + file);
+        }
+        if (!hasData()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed: " + file);
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (!hasData()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        reader.interrupt();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Nanoseconds read() has spent waiting for blocks the reader had not finished yet.
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    // Makes sure the current block has unread bytes; false at end of file.
+    private boolean hasData() throws IOException {
+        while (current == null || position == current.length) {
+            if (finished || !nextBlock()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the current block for reuse and moves to the next one; false at end of file.
+    private boolean nextBlock() throws IOException {
+        try {
+            if (current != null) {
+                free.put(current); // never blocks: the free queue can hold every block
+                current = null;
+            }
+            long start = System.nanoTime();
+            Block next = filled.take();
+            waitNanos += System.nanoTime() - start;
+
+            if (next.error != null) {
+                finished = true;
+                throw new IOException("Failed to read " + file, next.error);
+            }
+            if (next.length < 0) {
+                finished = true;
+                return false;
+            }
+            current = next;
+            position = 0;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + file, e);
+        }
+    }
+
+    // Background loop: fill free blocks in file order until end of file, an error, or close().
+    private void readBlocks() {
+        try {
+            while (true) {
+                Block block = free.take();
+                try {
+                    block.length = fill(block.data);
+                } catch (IOException e) {
+                    block.error = e;
+                }
+                filled.put(block);
+                if (block.length < 0 || block.error != null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // close() was called; the consumer is gone
+        }
+    }
+
+    // Reads until the buffer is full or the file ends; -1 only when nothing was left.
+    private int fill(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.position() == 0 ? -1 : buffer.position();
+    }
+
+    private static final class Block {
+        private final byte[] data;
+        private int length;
+        private IOException error;
+
+        Block(byte[] data) {
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.challenge.assignment2;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ JFR event for one outermost StageProfiler stage (e.g. "load CSV" or a report).
+ Record with: java -XX:StartFlightRecording=filename=run.jfr ... BankingAnalyticsApp --profile
+ and inspect with: jfr print --events com.example.challenge.ProfiledStage run.jfr
+*/
+@Name("com.example.challenge.ProfiledStage")
+@Label("Profiled Stage")
+@Category({"Banking Analytics"})
+@Description("One top-level stage of the banking analytics pipeline")
+class ProfiledStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,194 @@
+package com.example.challenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes AnalyticsQuery instances over TransactionColumns.
+ *
+ * Execution is column-at-a-time:
+ * 1. Filters clear a boolean keep-mask, one specialized loop per filter.
+ * 2. Every row is mapped to a dense int group id. A single dimension uses its
+ *    dictionary ids directly; each further dimension folds its ids into the
+ *    running group id through a LongIntHashMap, so no String keys are hashed.
+ * 3. A loop specialized for the aggregate accumulates into primitive arrays
+ *    indexed by group id; sums go through AmountKernels.groupedSum, which
+ *    keeps Kahan compensation per group as Collectors.summingDouble did.
+ */
+final class QueryExecutor {
+
+    private QueryExecutor() {
+    }
+
+    static QueryResult execute(TransactionColumns columns, AnalyticsQuery query) {
+        int n = columns.size();
+        GroupIds groups = groupIds(columns, query.getGroupBy(), keepMask(columns, query.getFilters()));
+        double[] values = columns.measure(query.getMeasure());
+
+        long[] counts = new long[groups.count];
+        double[] result = new double[groups.count];
+        int[] groupOf = groups.groupOf;
+
+        switch (query.getAggregate()) {
+            case COUNT:
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf[i];
+                    if (g >= 0) {
+                        counts[g]++;
+                    }
+                }
+                for (int g = 0; g < groups.count; g++) {
+                    result[g] = counts[g];
+                }
+                break;
+            case SUM:
+            case AVG:
+                AmountKernels.best().groupedSum(values, groupOf, result, counts);
+                if (query.getAggregate() == Aggregate.AVG) {
+                    for (int g = 0; g < groups.count; g++) {
+                        result[g] = counts[g] == 0 ? 0.0 : result[g] / counts[g];
+                    }
+                }
+                break;
+            case MIN:
+                Arrays.fill(result, Double.POSITIVE_INFINITY);
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf[i];
+                    if (g >= 0) {
+                        result[g] = Math.min(result[g], values[i]);
+                        counts[g]++;
+                    }
+                }
+                break;
+            case MAX:
+                Arrays.fill(result, Double.NEGATIVE_INFINITY);
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf[i];
+                    if (g >= 0) {
+                        result[g] = Math.max(result[g], values[i]);
+                        counts[g]++;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported aggregate: " + query.getAggregate());
+        }
+
+        return toResult(columns, query.getGroupBy(), groups, result, counts);
+    }
+
+    // null means every row is kept
+    private static boolean[] keepMask(TransactionColumns columns, List<Filter> filters) {
+        if (filters.isEmpty()) {
+            return null;
+        }
+        boolean[] keep = new boolean[columns.size()];
+        Arrays.fill(keep, true);
+        for (Filter filter : filters) {
+            filter.retain(columns, keep);
+        }
+        return keep;
+    }
+
+    private static GroupIds groupIds(TransactionColumns columns, List<Dimension> dimensions, boolean[] keep) {
+        int n = columns.size();
+
+        if (dimensions.isEmpty()) {
+            int[] groupOf = new int[n];
+            if (keep != null) {
+                for (int i = 0; i < n; i++) {
+                    groupOf[i] = keep[i] ? 0 : -1;
+                }
+            }
+            return new GroupIds(groupOf, n == 0 ? 0 : 1, null);
+        }
+
+        // First dimension: dictionary ids are already dense group ids
+        Dimension first = dimensions.get(0);
+        int[] groupOf = columns.ids(first);
+        int groupCount = columns.dictionary(first).length;
+        if (keep != null) {
+            groupOf = groupOf.clone();
+            for (int i = 0; i < n; i++) {
+                if (!keep[i]) {
+                    groupOf[i] = -1;
+                }
+            }
+        }
+        if (dimensions.size() == 1) {
+            return new GroupIds(groupOf, groupCount, null);
+        }
+
+        // Further dimensions: fold (group, id) pairs into new dense group ids
+        int[] firstRow = null;
+        for (int d = 1; d < dimensions.size(); d++) {
+            int[] ids = columns.ids(dimensions.get(d));
+            long cardinality = columns.dictionary(dimensions.get(d)).length;
+            LongIntHashMap denseIds = new LongIntHashMap(Math.min(n, 1024));
+            int[] next = new int[n];
+            int[] nextFirstRow = new int[16];
+
+            for (int i = 0; i < n; i++) {
+                int g = groupOf[i];
+                if (g < 0) {
+                    next[i] = -1;
+                    continue;
+                }
+                int candidate = denseIds.size();
+                int id = denseIds.putIfAbsent(g * cardinality + ids[i], candidate);
+                if (id == candidate) {
+                    if (id == nextFirstRow.length) {
+                        nextFirstRow = Arrays.copyOf(nextFirstRow, id * 2);
+                    }
+                    nextFirstRow[id] = i;
+                }
+                next[i] = id;
+            }
+            groupOf = next;
+            groupCount = denseIds.size();
+            firstRow = nextFirstRow;
+        }
+        return new GroupIds(groupOf, groupCount, firstRow);
+    }
+
+    private static QueryResult toResult(TransactionColumns columns, List<Dimension> dimensions,
+                                        GroupIds groups, double[] result, long[] counts) {
+        List<QueryResult.Row> rows = new ArrayList<>(groups.count);
+        for (int g = 0; g < groups.count; g++) {
+            if (counts[g] == 0) {
+                continue;
+            }
+            List<String> keys;
+            if (dimensions.isEmpty()) {
+                keys = List.of();
+            } else if (dimensions.size() == 1) {
+                keys = Collections.singletonList(columns.dictionary(dimensions.get(0))[g]);
+            } else {
+                int row = groups.firstRow[g];
+                String[] values = new String[dimensions.size()];
+                for (int d = 0; d < values.length; d++) {
+                    Dimension dimension = dimensions.get(d);
+                    values[d] = columns.dictionary(dimension)[columns.ids(dimension)[row]];
+                }
+                keys = Collections.unmodifiableList(Arrays.asList(values));
+            }
+            rows.add(new QueryResult.Row(keys, result[g], counts[g]));
+        }
+        return new QueryResult(rows);
+    }
+
+    // Dense group id per row (-1 = filtered out), plus one representative row per group when needed
+    private static final class GroupIds {
+        final int[] groupOf;
+        final int count;
+        final int[] firstRow;
+
+        GroupIds(int[] groupOf, int count, int[] firstRow) {
+            this.groupOf = groupOf;
+            this.count = count;
+            this.firstRow = firstRow;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.challenge.assignment2;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ Result of an AnalyticsQuery: one row per non-empty group.
+ Each row carries the group's dimension values (in groupBy order),
+ the aggregated value and the number of rows that fed it.
+*/
+public class QueryResult {
+
+    private final List<Row> rows;
+
+    QueryResult(List<Row> rows) {
+        this.rows = List.copyOf(rows);
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    // Group value -> aggregate, for queries grouped by exactly one dimension.
+    public Map<String, Double> asMap() {
+        Map<String, Double> result = new HashMap<>();
+        for (Row row : rows) {
+            if (row.getKeys().size() != 1) {
+                throw new IllegalStateException("asMap() needs exactly one group-by dimension, but rows have keys " + row.getKeys());
+            }
+            result.put(row.getKeys().get(0), row.getValue());
+        }
+        return result;
+    }
+
+    // The single aggregate of an ungrouped query, or the given default when no rows matched.
+    public double singleValue(double defaultValue) {
+        if (rows.isEmpty()) {
+            return defaultValue;
+        }
+        if (rows.size() > 1) {
+            throw new IllegalStateException("singleValue() needs an ungrouped query, but result has " + rows.size() + " rows");
+        }
+        return rows.get(0).getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryResult" + rows;
+    }
+
+    public static class Row {
+        private final List<String> keys;
+        private final double value;
+        private final long count;
+
+        Row(List<String> keys, double value, long count) {
+            this.keys = keys;
+            this.value = value;
+            this.count = count;
+        }
+
+        public List<String> getKeys() {
+            return keys;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return keys + "=" + value + " (" + count + " rows)";
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.challenge.assignment2;
+
+/*
+ Plain-loop kernels; the fallback when the Vector API is unavailable.
+*/
+final class ScalarAmountKernels implements AmountKernels {
+
+    static final ScalarAmountKernels INSTANCE = new ScalarAmountKernels();
+
+    private ScalarAmountKernels() {
+    }
+
+    @Override
+    public double maskedSum(double[] values, boolean[] mask) {
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            if (mask[i]) {
+                double y = values[i] - compensation;
+                double t = sum + y;
+                compensation = (t - sum) - y;
+                sum = t;
+            }
+        }
+        return sum - compensation;
+    }
+
+    @Override
+    public int indexOfMax(double[] values) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < values.length; i++) {
+            // NaN fails both comparisons, so it is never picked
+            if (values[i] > bestValue || (best < 0 && values[i] == Double.NEGATIVE_INFINITY)) {
+                best = i;
+                bestValue = values[i];
+            }
+        }
+        return best < 0 && values.length > 0 ? 0 : best;
+    }
+
+    @Override
+    public void groupedSum(double[] values, int[] groupIds, double[] sums, long[] counts) {
+        double[] compensation = new double[sums.length];
+        for (int i = 0; i < values.length; i++) {
+            int g = groupIds[i];
+            if (g >= 0) {
+                addCompensated(sums, compensation, g, values[i]);
+                counts[g]++;
+            }
+        }
+        finish(sums, compensation);
+    }
+
+    // Kahan step: adds value to sums[g], carrying the lost low-order bits in compensation[g].
+    static void addCompensated(double[] sums, double[] compensation, int g, double value) {
+        double y = value - compensation[g];
+        double t = sums[g] + y;
+        compensation[g] = (t - sums[g]) - y;
+        sums[g] = t;
+    }
+
+    // Folds the remaining compensation back into the sums.
+    static void finish(double[] sums, double[] compensation) {
+        for (int g = 0; g < sums.length; g++) {
+            sums[g] -= compensation[g];
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
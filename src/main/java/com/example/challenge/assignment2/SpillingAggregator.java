@@ -0,0 +1,312 @@
+package com.example.challenge.assignment2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sum/count aggregation by string key that keeps working when the groups do not fit
+ * in memory.
+ *
+ * Groups accumulate in a hash map until its estimated size passes the memory budget.
+ * The map is then spilled: every partial aggregate is appended to one of N partition
+ * files chosen by key hash, and the map is cleared. When results are read, each
+ * partition is merged on its own, so only one partition's groups are in memory at a
+ * time. A partition that is still over budget is re-split with a different hash salt;
+ * the hash covers the whole key, so keys that share a String.hashCode still separate.
+ * A partition still over budget after MAX_LEVELS splits fails the merge with an
+ * IllegalStateException rather than silently exceeding the budget.
+ *
+ * Amounts are rounded to whole cents and summed in a long, in memory and on disk
+ * alike. Integer addition does not depend on order, so results are the same exact
+ * cent totals whatever the budget. They are not bit-for-bit the double sums of
+ * BankingAnalyticsService, whose rounding error depends on summation order; for
+ * amounts with two decimals, rounding those sums to cents gives these totals.
+ * Not thread-safe.
+ */
+public class SpillingAggregator implements AutoCloseable {
+
+    // Rough heap cost of one group besides its key chars: map node, table slot, String, long[2]
+    static final int ENTRY_OVERHEAD_BYTES = 112;
+    static final int MAX_LEVELS = 16;
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    // Receives one finished group; sumCents / 100.0 is the total amount.
+    public interface GroupConsumer {
+        void accept(String key, long sumCents, long count);
+    }
+
+    private final long memoryBudgetBytes;
+    private final int partitions;
+    private final Path spillDirectory;
+    private final int maxLevels;
+
+    // Private subdirectory of spillDirectory, created on first spill
+    private Path workDirectory;
+    private Map<String, long[]> groups = new HashMap<>();
+    private long estimatedBytes;
+    private DataOutputStream[] spillStreams;
+    private int spillCount;
+    private long spilledRecords;
+    private boolean finished;
+
+    public SpillingAggregator(long memoryBudgetBytes, int partitions, Path spillDirectory) {
+        this(memoryBudgetBytes, partitions, spillDirectory, MAX_LEVELS);
+    }
+
+    SpillingAggregator(long memoryBudgetBytes, int partitions, Path spillDirectory, int maxLevels) {
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive, but was : " + memoryBudgetBytes);
+        }
+        if (partitions < 2) {
+            throw new IllegalArgumentException("Partition count must be at least 2, but was : " + partitions);
+        }
+        if (maxLevels <= 0) {
+            throw new IllegalArgumentException("Max levels must be positive, but was : " + maxLevels);
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.partitions = partitions;
+        this.spillDirectory = Objects.requireNonNull(spillDirectory, "spillDirectory must not be null");
+        this.maxLevels = maxLevels;
+    }
+
+    public void add(String key, double amount) {
+        addCents(key, toCents(amount), 1);
+    }
+
+    public void addCents(String key, long cents, long count) {
+        if (finished) {
+            throw new IllegalStateException("Results were already read");
+        }
+        long[] group = groups.get(key);
+        if (group == null) {
+            group = new long[2];
+            groups.put(key, group);
+            estimatedBytes += ENTRY_OVERHEAD_BYTES + key.length();
+        }
+        group[0] += cents;
+        group[1] += count;
+        if (estimatedBytes > memoryBudgetBytes) {
+            spill();
+        }
+    }
+
+    // Streams every group to the consumer (in no particular order) and releases all spill files.
+    public void forEachGroup(GroupConsumer consumer) {
+        if (finished) {
+            throw new IllegalStateException("Results were already read");
+        }
+        finished = true;
+        try {
+            if (spillStreams == null) {
+                emit(groups, consumer);
+                return;
+            }
+            spill();
+            for (DataOutputStream stream : spillStreams) {
+                stream.close();
+            }
+            for (int p = 0; p < partitions; p++) {
+                mergePartition(partitionFile(0, p), 0, consumer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to merge spilled aggregates in " + workDirectory, e);
+        } finally {
+            groups = new HashMap<>();
+            close();
+        }
+    }
+
+    // Convenience for results known to fit in memory: key -> total amount.
+    public Map<String, Double> toMap() {
+        Map<String, Double> result = new HashMap<>();
+        forEachGroup((key, sumCents, count) -> result.put(key, sumCents / 100.0));
+        return result;
+    }
+
+    public boolean hasSpilled() {
+        return spillCount > 0;
+    }
+
+    public int getSpillCount() {
+        return spillCount;
+    }
+
+    public long getSpilledRecords() {
+        return spilledRecords;
+    }
+
+    @Override
+    public void close() {
+        if (spillStreams != null) {
+            for (DataOutputStream stream : spillStreams) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // best effort; the file is deleted below
+                }
+            }
+            spillStreams = null;
+            deleteSpillFiles();
+        }
+    }
+
+    private void spill() {
+        if (groups.isEmpty()) {
+            return;
+        }
+        try {
+            if (spillStreams == null) {
+                Files.createDirectories(spillDirectory);
+                workDirectory = Files.createTempDirectory(spillDirectory, "aggregate-");
+                spillStreams = new DataOutputStream[partitions];
+                for (int p = 0; p < partitions; p++) {
+                    spillStreams[p] = open(partitionFile(0, p));
+                }
+            }
+            for (Map.Entry<String, long[]> entry : groups.entrySet()) {
+                write(spillStreams[partitionOf(entry.getKey(), 0)], entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to spill aggregates to " + spillDirectory, e);
+        }
+        spillCount++;
+        spilledRecords += groups.size();
+        groups = new HashMap<>();
+        estimatedBytes = 0;
+    }
+
+    // Merges one partition file in memory, re-splitting it if its groups exceed the budget.
+    private void mergePartition(Path file, int level, GroupConsumer consumer) throws IOException {
+        Map<String, long[]> merged = new HashMap<>();
+        long bytes = 0;
+        boolean overBudget = false;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), STREAM_BUFFER_BYTES))) {
+            while (true) {
+                String key;
+                try {
+                    key = in.readUTF();
+                } catch (EOFException end) {
+                    break;
+                }
+                long cents = in.readLong();
+                long count = in.readLong();
+                long[] group = merged.get(key);
+                if (group == null) {
+                    group = new long[2];
+                    merged.put(key, group);
+                    bytes += ENTRY_OVERHEAD_BYTES + key.length();
+                }
+                group[0] += cents;
+                group[1] += count;
+                // A single group cannot be split further, so it is allowed to exceed a tiny budget
+                if (bytes > memoryBudgetBytes && merged.size() > 1) {
+                    overBudget = true;
+                    break;
+                }
+            }
+        }
+
+        if (!overBudget) {
+            Files.delete(file);
+            emit(merged, consumer);
+            return;
+        }
+
+        // Too many distinct keys hashed here: re-split the whole file one level deeper
+        merged = null;
+        int childLevel = level + 1;
+        if (childLevel >= maxLevels) {
+            throw new IllegalStateException("Partition " + file.getFileName() + " still exceeds the memory budget of "
+                    + memoryBudgetBytes + " bytes after " + maxLevels + " levels; raise the budget or the partition count");
+        }
+        Path[] children = new Path[partitions];
+        DataOutputStream[] outs = new DataOutputStream[partitions];
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), STREAM_BUFFER_BYTES))) {
+            String prefix = file.getFileName().toString().replace(".spill", "");
+            for (int p = 0; p < partitions; p++) {
+                children[p] = workDirectory.resolve(prefix + "-" + p + ".spill");
+                outs[p] = open(children[p]);
+            }
+            while (true) {
+                String key;
+                try {
+                    key = in.readUTF();
+                } catch (EOFException end) {
+                    break;
+                }
+                long[] group = {in.readLong(), in.readLong()};
+                write(outs[partitionOf(key, childLevel)], key, group);
+            }
+        } finally {
+            for (DataOutputStream out : outs) {
+                if (out != null) {
+                    out.close();
+                }
+            }
+        }
+        Files.delete(file);
+        for (Path child : children) {
+            mergePartition(child, childLevel, consumer);
+        }
+    }
+
+    private void emit(Map<String, long[]> source, GroupConsumer consumer) {
+        for (Map.Entry<String, long[]> entry : source.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+    }
+
+    // 64-bit FNV-1a over every char, seeded per level, then a SplitMix64 finish.
+    private int partitionOf(String key, int level) {
+        long h = 0xCBF29CE484222325L ^ (level * 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h += level * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 29;
+        return (int) Math.floorMod(h, (long) partitions);
+    }
+
+    private Path partitionFile(int level, int partition) {
+        return workDirectory.resolve("agg-" + level + "-" + partition + ".spill");
+    }
+
+    private void deleteSpillFiles() {
+        try (var files = Files.list(workDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(workDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete spill files in " + workDirectory, e);
+        }
+    }
+
+    private static DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), STREAM_BUFFER_BYTES));
+    }
+
+    private static void write(DataOutputStream out, String key, long[] group) throws IOException {
+        out.writeUTF(key);
+        out.writeLong(group[0]);
+        out.writeLong(group[1]);
+    }
+
+    // Amounts in this dataset have two decimals, so rounding to cents is exact.
+    static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.challenge.assignment2;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-stage wall time, row, byte and allocation accounting for one run of the app.
+ *
+ * Code asks for a named Timer once (outside hot loops) and brackets work with
+ * start()/stop(rows). Timers nest: time and allocation spent in an inner stage are
+ * subtracted from the enclosing stage's "self" figures, so "tokenize CSV" does not
+ * also count the file reads it triggers. Stopping a timer first stops any inner
+ * timers still running (e.g. skipped by an exception), so the nesting recovers.
+ *
+ * Each start()/stop() pair costs two nanoTime and two allocated-bytes reads (a few
+ * hundred ns together), which is charged to the stage being measured. Hot paths
+ * therefore bracket batches of rows, not single rows.
+ *
+ * Allocation comes from the current thread's allocated-bytes counter
+ * (com.sun.management.ThreadMXBean), so work on other threads is not attributed.
+ *
+ * Outermost stages are also recorded as ProfiledStageEvent JFR events, so they
+ * appear on a flight-recording timeline next to GC and I/O events.
+ *
+ * disabled() returns a shared profiler whose timers return immediately; that is the
+ * default everywhere, keeping the cost of the instrumentation to a field read and a
+ * branch. An enabled profiler is meant for single-threaded runs and is not thread-safe.
+ */
+public final class StageProfiler {
+
+    private static final StageProfiler DISABLED = new StageProfiler(false);
+
+    private final boolean enabled;
+    private final com.sun.management.ThreadMXBean threads;
+    private final Map<String, Timer> timers = new HashMap<>();
+    // Report order: the order in which stages first started
+    private final List<Timer> started = new ArrayList<>();
+    private final Deque<Timer> active = new ArrayDeque<>();
+    private final Timer noOp;
+
+    private StageProfiler(boolean enabled) {
+        this.enabled = enabled;
+        this.threads = enabled ? allocationCounter() : null;
+        this.noOp = new Timer("", false);
+    }
+
+    public static StageProfiler disabled() {
+        return DISABLED;
+    }
+
+    public static StageProfiler enabled() {
+        return new StageProfiler(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The timer for a stage, created on first use; a shared no-op timer when disabled.
+    public Timer timer(String stage) {
+        if (!enabled) {
+            return noOp;
+        }
+        return timers.computeIfAbsent(stage, name -> new Timer(name, true));
+    }
+
+    // Runs body as one execution of the stage that processed `rows` rows.
+    public <T> T time(String stage, long rows, Supplier<T> body) {
+        if (!enabled) {
+            return body.get();
+        }
+        Timer timer = timer(stage);
+        timer.start();
+        try {
+            return body.get();
+        } finally {
+            timer.stop(rows);
+        }
+    }
+
+    // Timers in the order their stages first ran.
+    public List<Timer> getTimers() {
+        return new ArrayList<>(started);
+    }
+
+    // Prints one row per stage, indented by nesting depth.
+    public void printReport(PrintStream out) {
+        if (!enabled) {
+            return;
+        }
+        out.println();
+        out.println("**** Stage Profile (self = excluding nested stages) ****");
+        out.printf("%-34s %7s %10s %10s %12s %13s %9s %10s %10s%n",
+                "Stage", "Calls", "Self ms", "Total ms", "Rows", "Rows/sec", "MB read", "Alloc MB", "B/row");
+        for (Timer timer : started) {
+            double totalSeconds = timer.totalNanos / 1e9;
+            out.printf("%-34s %7d %10.1f %10.1f %12d %13s %9s %10.1f %10s%n",
+                    "  ".repeat(timer.depth) + timer.name,
+                    timer.calls,
+                    timer.selfNanos / 1e6,
+                    timer.totalNanos / 1e6,
+                    timer.rows,
+                    timer.rows > 0 && totalSeconds > 0 ? String.format("%,.0f", timer.rows / totalSeconds) : "-",
+                    timer.bytes > 0 ? String.format("%.1f", timer.bytes / (1024.0 * 1024.0)) : "-",
+                    timer.selfAllocatedBytes / (1024.0 * 1024.0),
+                    timer.rows > 0 ? String.format("%.0f", (double) timer.selfAllocatedBytes / timer.rows) : "-");
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null; // allocation columns will read 0
+    }
+
+    // Accumulated figures for one named stage; not re-entrant.
+    public final class Timer {
+        private final String name;
+        private final boolean live;
+
+        private boolean seen;
+        private int depth;
+        private long calls;
+        private long rows;
+        private long bytes;
+        private long totalNanos;
+        private long selfNanos;
+        private long totalAllocatedBytes;
+        private long selfAllocatedBytes;
+
+        // State of the execution in progress
+        private boolean running;
+        private Timer parent;
+        private long startNanos;
+        private long startAllocated;
+        private long childNanos;
+        private long childAllocated;
+        private ProfiledStageEvent event;
+
+        private Timer(String name, boolean live) {
+            this.name = name;
+            this.live = live;
+        }
+
+        public void start() {
+            if (!live) {
+                return;
+            }
+            if (running) {
+                throw new IllegalStateException("Stage '" + name + "' is already running");
+            }
+            parent = active.peek();
+            if (!seen) {
+                seen = true;
+                depth = active.size();
+                started.add(this);
+            }
+            running = true;
+            active.push(this);
+            childNanos = 0;
+            childAllocated = 0;
+            if (parent == null) {
+                event = new ProfiledStageEvent();
+                event.begin();
+            }
+            startAllocated = allocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        public void stop() {
+            stop(0);
+        }
+
+        public void stop(long rowsProcessed) {
+            if (!live) {
+                return;
+            }
+            if (!running) {
+                throw new IllegalStateException("Stage '" + name + "' was stopped without being started");
+            }
+            // Unwind inner stages left running, so every stage below is still attributed correctly
+            while (active.peek() != this) {
+                active.peek().stop();
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            long allocated = allocatedBytes() - startAllocated;
+            active.pop();
+            running = false;
+
+            calls++;
+            rows += rowsProcessed;
+            totalNanos += elapsed;
+            selfNanos += elapsed - childNanos;
+            totalAllocatedBytes += allocated;
+            selfAllocatedBytes += allocated - childAllocated;
+            if (parent != null) {
+                parent.childNanos += elapsed;
+                parent.childAllocated += allocated;
+            } else {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.stage = name;
+                    event.rows = rowsProcessed;
+                    event.allocatedBytes = allocated;
+                    event.commit();
+                }
+                event = null;
+            }
+        }
+
+        // Bytes read from storage during this stage.
+        public void addBytes(long count) {
+            if (live) {
+                bytes += count;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        public long getTotalAllocatedBytes() {
+            return totalAllocatedBytes;
+        }
+
+        public long getSelfAllocatedBytes() {
+            return selfAllocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.challenge.assignment2;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Per-group sketches for one (group-by dimension, distinct dimension, measure)
+ * triple, e.g. distinct ACCOUNT_NUMBER and TRANSACTION_AMOUNT quantiles per CITY.
+ * Without a distinct dimension only the exact figures and quantiles are kept, and
+ * computeDistinct keeps only the exact figures and distinct counts, so no sketch is
+ * filled just to be ignored.
+ *
+ * compute() splits the rows into chunks that are summarized in parallel and
+ * merged. Tables are keyed by group value rather than dictionary id, so tables
+ * built from different files can be merged too, and writeTo/readFrom let those
+ * partial results be stored and combined later.
+ */
+public class SummaryTable {
+
+    private static final int CHUNK_ROWS = 1 << 16;
+    // 2: each group records whether it has a distinct-count sketch; 3: also a quantile sketch
+    private static final int FORMAT_VERSION = 3;
+
+    private final Map<String, GroupSummary> groups;
+
+    public SummaryTable() {
+        this(new HashMap<>());
+    }
+
+    private SummaryTable(Map<String, GroupSummary> groups) {
+        this.groups = groups;
+    }
+
+    // Count/sum/min/max and quantiles of the measure per group, with no distinct counts.
+    public static SummaryTable compute(TransactionColumns columns, Dimension groupBy, Measure measure) {
+        return compute(columns, groupBy, null, measure, true);
+    }
+
+    // Count/sum/min/max of the measure and distinct counts per group, with no quantiles.
+    public static SummaryTable computeDistinct(TransactionColumns columns, Dimension groupBy,
+                                               Dimension distinctOf, Measure measure) {
+        return compute(columns, groupBy, Objects.requireNonNull(distinctOf, "distinctOf must not be null"),
+                measure, false);
+    }
+
+    public static SummaryTable compute(TransactionColumns columns, Dimension groupBy,
+                                       Dimension distinctOf, Measure measure) {
+        return compute(columns, groupBy, Objects.requireNonNull(distinctOf, "distinctOf must not be null"),
+                measure, true);
+    }
+
+    private static SummaryTable compute(TransactionColumns columns, Dimension groupBy,
+                                        Dimension distinctOf, Measure measure, boolean withQuantiles) {
+        int[] groupIds = columns.ids(groupBy);
+        String[] groupNames = columns.dictionary(groupBy);
+        int[] distinctIds = distinctOf == null ? null : columns.ids(distinctOf);
+        double[] values = columns.measure(measure);
+
+        // Hash every distinct value once instead of once per row
+        long[] distinctHashes = null;
+        if (distinctOf != null) {
+            String[] distinctNames = columns.dictionary(distinctOf);
+            distinctHashes = new long[distinctNames.length];
+            for (int id = 0; id < distinctNames.length; id++) {
+                distinctHashes[id] = HyperLogLog.hash64(distinctNames[id]);
+            }
+        }
+        long[] hashes = distinctHashes;
+
+        int chunks = (columns.size() + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        GroupSummary[] merged = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    GroupSummary[] partial = new GroupSummary[groupNames.length];
+                    int end = Math.min(columns.size(), (chunk + 1) * CHUNK_ROWS);
+                    for (int i = chunk * CHUNK_ROWS; i < end; i++) {
+                        GroupSummary summary = partial[groupIds[i]];
+                        if (summary == null) {
+                            summary = hashes == null ? GroupSummary.withoutDistinct()
+                                    : withQuantiles ? new GroupSummary() : GroupSummary.withoutQuantiles();
+                            partial[groupIds[i]] = summary;
+                        }
+                        if (hashes == null) {
+                            summary.add(values[i]);
+                        } else {
+                            summary.add(hashes[distinctIds[i]], values[i]);
+                        }
+                    }
+                    return partial;
+                })
+                .reduce(SummaryTable::mergeById)
+                .orElse(new GroupSummary[0]);
+
+        Map<String, GroupSummary> byName = new HashMap<>();
+        for (int id = 0; id < merged.length; id++) {
+            if (merged[id] != null) {
+                byName.put(groupNames[id], merged[id]);
+            }
+        }
+        return new SummaryTable(byName);
+    }
+
+    private static GroupSummary[] mergeById(GroupSummary[] left, GroupSummary[] right) {
+        for (int id = 0; id < left.length; id++) {
+            if (left[id] == null) {
+                left[id] = right[id];
+            } else if (right[id] != null) {
+                left[id].merge(right[id]);
+            }
+        }
+        return left;
+    }
+
+    // Folds another table into this one, merging groups with the same value.
+    public SummaryTable merge(SummaryTable other) {
+        other.groups.forEach((key, summary) -> groups.merge(key, summary, (mine, theirs) -> {
+            mine.merge(theirs);
+            return mine;
+        }));
+        return this;
+    }
+
+    public Map<String, GroupSummary> getGroups() {
+        return Collections.unmodifiableMap(groups);
+    }
+
+    public GroupSummary get(String group) {
+        return groups.get(group);
+    }
+
+    public void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(groups.size());
+        for (Map.Entry<String, GroupSummary> entry : groups.entrySet()) {
+            out.writeBoolean(entry.getKey() != null);
+            if (entry.getKey() != null) {
+                out.writeUTF(entry.getKey());
+            }
+            entry.getValue().writeTo(out);
+        }
+        out.flush();
+    }
+
+    public static SummaryTable readFrom(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported summary table format version: " + version);
+        }
+        int size = in.readInt();
+        Map<String, GroupSummary> groups = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = in.readBoolean() ? in.readUTF() : null;
+            groups.put(key, GroupSummary.readFrom(in));
+        }
+        return new SummaryTable(groups);
+    }
+}
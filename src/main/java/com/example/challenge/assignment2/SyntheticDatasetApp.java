@@ -0,0 +1,37 @@
+package com.example.challenge.assignment2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ Writes a synthetic dataset with SyntheticDatasetGenerator and reports write throughput.
+
+ Usage: SyntheticDatasetApp [output] [rows] [merchants] [cities] [accounts] [seed] [threads]
+ Defaults: target/synthetic.csv, 10,000,000 rows, 50,000 merchants, 300 cities,
+ rows / 20 accounts, seed 42, one thread per core. The same arguments always produce
+ the same file, whatever the thread count.
+*/
+public class SyntheticDatasetApp {
+
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "target/synthetic.csv");
+        long rows = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        int merchants = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        int cities = args.length > 3 ? Integer.parseInt(args[3]) : 300;
+        int accounts = args.length > 4 ? Integer.parseInt(args[4]) : (int) Math.max(1, Math.min(Integer.MAX_VALUE, rows / 20));
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%nGenerating %,d rows (%,d merchants, %,d cities, %,d accounts, seed %d) with %d threads -> %s%n",
+                rows, merchants, cities, accounts, seed, threads, output);
+
+        long start = System.nanoTime();
+        new SyntheticDatasetGenerator(seed, merchants, cities, accounts).generate(output, rows, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long bytes = Files.size(output);
+        System.out.printf("Wrote %,d bytes in %.2f s -> %,.0f rows/sec, %,.1f MB/sec%n",
+                bytes, seconds, rows / seconds, bytes / seconds / (1024 * 1024));
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.challenge.assignment2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes synthetic transaction CSVs with the same header as the bundled dataset, at
+ * any row count, for scale testing.
+ *
+ * Output is a pure function of (seed, rows, merchants, cities, accounts): rows are
+ * generated in fixed-size chunks, each from its own random stream derived from the
+ * seed and chunk index, and chunks are written in order. The thread count only
+ * changes how fast the file appears, never its bytes.
+ *
+ * Distributions: merchants and cities are Zipf-distributed over their configured
+ * cardinality (a few are very busy, most are rare); amounts are log-normal with a
+ * long right tail; fraud is rare (~2%) and mostly on larger amounts. Dates span
+ * 2023-01-01 to 2024-12-31.
+ */
+public class SyntheticDatasetGenerator {
+
+    static final String HEADER = "Transaction_ID,Account_Number,Transaction_Date,Transaction_Amount,"
+            + "Merchant_Name,Transaction_Type,Category,City,Country,Payment_Method,Customer_Age,"
+            + "Customer_Gender,Customer_Occupation,Customer_Income,Account_Balance,Transaction_Status,"
+            + "Fraud_Flag,Discount_Applied,Loyalty_Points_Earned,Transaction_Description";
+
+    // Fixed so chunk boundaries (and therefore the random streams) never depend on threads
+    static final int CHUNK_ROWS = 32_768;
+
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final int DAYS = 731;
+
+    private static final String[] CATEGORIES = {"Clothing", "Education", "Electronics", "Entertainment",
+            "Fitness", "Food", "Grocery", "Healthcare", "Housing", "Savings", "Shopping", "Transport",
+            "Travel", "Utilities"};
+    private static final String[] KNOWN_CITIES = {"New York", "Los Angeles", "Chicago", "Houston", "Phoenix",
+            "Philadelphia", "San Antonio", "San Diego", "Dallas", "San Jose"};
+    private static final String[] SURNAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Jackson", "Martin", "Lee",
+            "Thompson", "White", "Harris", "Clark", "Lewis", "Robinson", "Walker", "Young", "Allen", "King"};
+    private static final String[] MERCHANT_SUFFIXES = {"Group", "PLC", "LLC", "Inc", "Ltd", "and Sons"};
+    private static final String[] PAYMENT_METHODS = {"Credit Card", "Debit Card", "E-Wallet", "Online Transfer", "Cash"};
+    private static final int[] PAYMENT_WEIGHTS = {35, 30, 15, 12, 8};
+    private static final String[] OCCUPATIONS = {"Accountant", "Teacher", "Nurse", "Software engineer",
+            "Electrician", "Pharmacist", "Chef", "Architect", "Sales executive", "Civil engineer",
+            "Graphic designer", "Police officer", "Retail manager", "Student", "Retired"};
+    private static final String[] WORDS = {"account", "payment", "monthly", "online", "store", "order", "service",
+            "refund", "transfer", "bill", "card", "purchase", "travel", "fee", "subscription", "grocery", "fuel",
+            "rent", "gift", "dinner", "ticket", "repair", "insurance", "deposit"};
+
+    private final long seed;
+    private final String[] merchantNames;
+    private final String[] cityNames;
+    private final double[] merchantCdf;
+    private final double[] cityCdf;
+    private final int accounts;
+    private final byte[][] dayPrefixes = new byte[DAYS][];
+
+    public SyntheticDatasetGenerator(long seed, int merchants, int cities, int accounts) {
+        if (merchants <= 0) {
+            throw new IllegalArgumentException("Merchant count must be positive, but was : " + merchants);
+        }
+        if (cities <= 0) {
+            throw new IllegalArgumentException("City count must be positive, but was : " + cities);
+        }
+        if (accounts <= 0) {
+            throw new IllegalArgumentException("Account count must be positive, but was : " + accounts);
+        }
+        this.seed = seed;
+        this.accounts = accounts;
+        this.merchantNames = new String[merchants];
+        for (int i = 0; i < merchants; i++) {
+            merchantNames[i] = merchantName(i);
+        }
+        this.cityNames = new String[cities];
+        for (int i = 0; i < cities; i++) {
+            cityNames[i] = i < KNOWN_CITIES.length ? KNOWN_CITIES[i] : "City " + (i + 1);
+        }
+        this.merchantCdf = zipfCdf(merchants);
+        this.cityCdf = zipfCdf(cities);
+        for (int d = 0; d < DAYS; d++) {
+            dayPrefixes[d] = (FIRST_DAY.plusDays(d) + " ").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    // Writes header + rows to the file (replacing it) using `threads` generator threads.
+    public void generate(Path output, long rows, int threads) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count must not be negative, but was : " + rows);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but was : " + threads);
+        }
+
+        long chunks = (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Synthetic-Generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap((HEADER + "\n").getBytes(StandardCharsets.US_ASCII)));
+
+            // Keep a bounded window of chunks in flight; drain them strictly in chunk order
+            int window = threads * 2;
+            Deque<Future<ChunkBuffer>> inFlight = new ArrayDeque<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long first = chunk * CHUNK_ROWS;
+                int count = (int) Math.min(CHUNK_ROWS, rows - first);
+                long chunkIndex = chunk;
+                inFlight.addLast(pool.submit(() -> generateChunk(chunkIndex, count)));
+                if (inFlight.size() >= window) {
+                    writeFully(channel, inFlight.removeFirst().get().asByteBuffer());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeFully(channel, inFlight.removeFirst().get().asByteBuffer());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write synthetic dataset: " + output, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating " + output, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Chunk generation failed for " + output, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    ChunkBuffer generateChunk(long chunkIndex, int count) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(chunkIndex + 1)));
+        ChunkBuffer out = new ChunkBuffer(count * 240);
+        for (int i = 0; i < count; i++) {
+            writeRow(out, random);
+        }
+        return out;
+    }
+
+    private void writeRow(ChunkBuffer out, SplittableRandom random) {
+        // Transaction_ID: random (version 4) UUID
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        out.hex(high >>> 32, 8).ascii('-').hex(high >>> 16, 4).ascii('-').hex(high, 4).ascii('-')
+                .hex(low >>> 48, 4).ascii('-').hex(low, 12).ascii(',');
+
+        // Account_Number: 4 letters + 14 digits, derived from the account index
+        long account = mix(seed + random.nextInt(accounts));
+        for (int i = 0; i < 4; i++) {
+            out.ascii((char) ('A' + (int) ((account >>> (i * 5)) & 31) % 26));
+        }
+        out.digits((account >>> 20) % 100_000_000_000_000L, 14).ascii(',');
+
+        // Transaction_Date
+        out.bytes(dayPrefixes[random.nextInt(DAYS)]);
+        out.digits(random.nextInt(24), 2).ascii(':').digits(random.nextInt(60), 2).ascii(':')
+                .digits(random.nextInt(60), 2).ascii(',');
+
+        // Transaction_Amount: log-normal around ~$60, clamped to [1, 50,000]
+        double amount = Math.exp(4.1 + 1.3 * gaussian(random));
+        long amountCents = Math.max(100, Math.min(5_000_000, Math.round(amount * 100)));
+        out.cents(amountCents).ascii(',');
+
+        out.ascii(merchantNames[sample(merchantCdf, random)]).ascii(',');
+        out.ascii(random.nextInt(100) < 60 ? "Debit" : "Credit").ascii(',');
+        out.ascii(CATEGORIES[random.nextInt(CATEGORIES.length)]).ascii(',');
+        out.ascii(cityNames[sample(cityCdf, random)]).ascii(",USA,");
+        out.ascii(PAYMENT_METHODS[weighted(PAYMENT_WEIGHTS, random)]).ascii(',');
+
+        int age = 18 + (random.nextInt(53) + random.nextInt(53)) / 2;
+        out.digits(age, 2).ascii(',');
+        int gender = random.nextInt(100);
+        out.ascii(gender < 48 ? "Female" : gender < 96 ? "Male" : "Others").ascii(',');
+        out.ascii(OCCUPATIONS[random.nextInt(OCCUPATIONS.length)]).ascii(',');
+        out.cents(2_000_000 + random.nextLong(13_000_000)).ascii(',');
+        out.cents(10_000 + random.nextLong(1_990_000)).ascii(',');
+
+        int status = random.nextInt(100);
+        out.ascii(status < 90 ? "Success" : status < 96 ? "Pending" : "Failed").ascii(',');
+        // ~2% overall, concentrated on amounts above $500
+        boolean fraud = random.nextInt(1000) < (amountCents > 50_000 ? 120 : 12);
+        out.ascii(fraud ? "Yes" : "No").ascii(',');
+        out.ascii(random.nextInt(100) < 20 ? "True" : "False").ascii(',');
+        out.decimal(Math.min(500, amountCents / 1000)).ascii(',');
+
+        int words = 3 + random.nextInt(5);
+        for (int w = 0; w < words; w++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (w == 0) {
+                out.ascii(Character.toUpperCase(word.charAt(0))).ascii(word.substring(1));
+            } else {
+                out.ascii(' ').ascii(word);
+            }
+        }
+        out.ascii(".\n");
+    }
+
+    private static String merchantName(int index) {
+        int combos = SURNAMES.length * MERCHANT_SUFFIXES.length;
+        String name = SURNAMES[index % SURNAMES.length] + " "
+                + MERCHANT_SUFFIXES[(index / SURNAMES.length) % MERCHANT_SUFFIXES.length];
+        return index < combos ? name : name + " " + (index / combos + 1);
+    }
+
+    // P(rank k) proportional to 1 / k^s, as a cumulative table for binary-search sampling.
+    private static double[] zipfCdf(int n) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= total;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private static int weighted(int[] weights, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Box-Muller; one of the pair is discarded to keep the stream consumption fixed.
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Growable ASCII byte buffer; avoids String/format allocation per field.
+    static final class ChunkBuffer {
+        private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        private byte[] data;
+        private int size;
+
+        ChunkBuffer(int initialCapacity) {
+            this.data = new byte[Math.max(64, initialCapacity)];
+        }
+
+        ChunkBuffer ascii(char c) {
+            ensure(1);
+            data[size++] = (byte) c;
+            return this;
+        }
+
+        ChunkBuffer ascii(String s) {
+            int length = s.length();
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                data[size++] = (byte) s.charAt(i);
+            }
+            return this;
+        }
+
+        ChunkBuffer bytes(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, data, size, b.length);
+            size += b.length;
+            return this;
+        }
+
+        // Lowest `width` hex digits of value.
+        ChunkBuffer hex(long value, int width) {
+            ensure(width);
+            for (int i = width - 1; i >= 0; i--) {
+                data[size + i] = HEX[(int) (value & 0xF)];
+                value >>>= 4;
+            }
+            size += width;
+            return this;
+        }
+
+        // Non-negative value, zero-padded to `width` digits.
+        ChunkBuffer digits(long value, int width) {
+            ensure(width);
+            for (int i = width - 1; i >= 0; i--) {
+                data[size + i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size += width;
+            return this;
+        }
+
+        ChunkBuffer decimal(long value) {
+            int width = 1;
+            for (long v = value; v >= 10; v /= 10) {
+                width++;
+            }
+            return digits(value, width);
+        }
+
+        // Non-negative cents as d.dd
+        ChunkBuffer cents(long cents) {
+            decimal(cents / 100);
+            ascii('.');
+            return digits(cents % 100, 2);
+        }
+
+        int size() {
+            return size;
+        }
+
+        ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(data, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.challenge.assignment2;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/*
+ Granularity used to bucket transactions by Transaction_Date.
+ Each bucket is identified by its (inclusive) start time.
+*/
+public enum TimeBucket {
+
+    HOUR {
+        @Override
+        public LocalDateTime startOf(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.HOURS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusHours(1);
+        }
+    },
+    DAY {
+        @Override
+        public LocalDateTime startOf(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusDays(1);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDateTime startOf(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusMonths(1);
+        }
+    };
+
+    // Start of the bucket containing the given time.
+    public abstract LocalDateTime startOf(LocalDateTime time);
+
+    // Start of the bucket that follows the one starting at bucketStart.
+    public abstract LocalDateTime next(LocalDateTime bucketStart);
+}
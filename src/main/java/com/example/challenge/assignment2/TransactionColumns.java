@@ -0,0 +1,120 @@
+package com.example.challenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Column-oriented copy of a list of transactions.
+ *
+ * Every Measure is held as a primitive double[] and every Dimension is
+ * dictionary-encoded into an int[] of ids, so query execution works on flat
+ * arrays without touching BankTransaction objects, boxing or string hashing.
+ * Row i in every column corresponds to transactions.get(i).
+ *
+ * Measures and dimensions are materialized on first use, like the time indexes
+ * in BankingAnalyticsService, so columns no report touches (e.g. the all-unique
+ * ACCOUNT_NUMBER) cost nothing. Safe for concurrent readers.
+ */
+public class TransactionColumns {
+
+    private final List<BankTransaction> transactions;
+    private final int size;
+    private final long[] epochSeconds;
+    private final boolean[] fraudulent;
+    private final boolean[] discountApplied;
+    private final Map<Measure, double[]> measures = new ConcurrentHashMap<>();
+    private final Map<Dimension, Encoded> dimensions = new ConcurrentHashMap<>();
+
+    // The list must not change afterwards; BankingAnalyticsService passes an immutable copy.
+    public TransactionColumns(List<BankTransaction> transactions) {
+        this.transactions = transactions;
+        this.size = transactions.size();
+        this.epochSeconds = new long[size];
+        this.fraudulent = new boolean[size];
+        this.discountApplied = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            BankTransaction tx = transactions.get(i);
+            epochSeconds[i] = tx.getTransactionDate() == null
+                    ? Long.MIN_VALUE
+                    : TransactionTimeIndex.toEpochSecond(tx.getTransactionDate());
+            fraudulent[i] = tx.isFraudulent();
+            discountApplied[i] = tx.isDiscountApplied();
+        }
+    }
+
+    private double[] copy(Measure measure) {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = measure.valueOf(transactions.get(i));
+        }
+        return values;
+    }
+
+    // Assigns ids to distinct values in order of first appearance.
+    private Encoded encode(Dimension dimension) {
+        Map<String, Integer> lookup = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] ids = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            String value = dimension.valueOf(transactions.get(i));
+            Integer id = lookup.get(value);
+            if (id == null) {
+                id = dictionary.size();
+                lookup.put(value, id);
+                dictionary.add(value);
+            }
+            ids[i] = id;
+        }
+        return new Encoded(ids, dictionary.toArray(new String[0]));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] epochSeconds() {
+        return epochSeconds;
+    }
+
+    public boolean[] fraudulent() {
+        return fraudulent;
+    }
+
+    public boolean[] discountApplied() {
+        return discountApplied;
+    }
+
+    public double[] measure(Measure measure) {
+        return measures.computeIfAbsent(measure, this::copy);
+    }
+
+    // Dictionary id of the dimension value for every row.
+    public int[] ids(Dimension dimension) {
+        return encoded(dimension).ids;
+    }
+
+    // Distinct values of a dimension, indexed by dictionary id.
+    public String[] dictionary(Dimension dimension) {
+        return encoded(dimension).dictionary;
+    }
+
+    private Encoded encoded(Dimension dimension) {
+        return dimensions.computeIfAbsent(dimension, this::encode);
+    }
+
+    // Ids and dictionary of one dimension, published together.
+    private static final class Encoded {
+        final int[] ids;
+        final String[] dictionary;
+
+        Encoded(int[] ids, String[] dictionary) {
+            this.ids = ids;
+            this.dictionary = dictionary;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.challenge.assignment2;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Time index over a set of transactions.
+ *
+ * Transactions are sorted by their epoch second (Transaction_Date read as UTC)
+ * and a prefix-sum array of amounts is kept alongside, so the total or count of
+ * any [from, to) range is two binary searches instead of a scan. Bucketed
+ * totals (hour/day/month) walk the sorted data one bucket at a time, costing
+ * O(buckets * log n). Transactions without a date are not indexed.
+ */
+public class TransactionTimeIndex {
+
+    private final long[] epochSeconds;
+    private final double[] amountPrefixSums; // amountPrefixSums[i] = sum of the first i amounts
+
+    public TransactionTimeIndex(List<BankTransaction> transactions) {
+        BankTransaction[] sorted = transactions.stream()
+                .filter(tx -> tx.getTransactionDate() != null)
+                .sorted(Comparator.comparing(BankTransaction::getTransactionDate))
+                .toArray(BankTransaction[]::new);
+
+        this.epochSeconds = new long[sorted.length];
+        this.amountPrefixSums = new double[sorted.length + 1];
+
+        for (int i = 0; i < sorted.length; i++) {
+            epochSeconds[i] = toEpochSecond(sorted[i].getTransactionDate());
+            amountPrefixSums[i + 1] = amountPrefixSums[i] + sorted[i].getTransactionAmount();
+        }
+    }
+
+    // Number of indexed transactions.
+    public int size() {
+        return epochSeconds.length;
+    }
+
+    // Total amount of transactions dated in [from, to).
+    public double totalAmountBetween(LocalDateTime from, LocalDateTime to) {
+        int lo = lowerBound(toEpochSecond(from));
+        int hi = Math.max(lo, lowerBound(toEpochSecond(to)));
+        return amountPrefixSums[hi] - amountPrefixSums[lo];
+    }
+
+    // Number of transactions dated in [from, to).
+    public long countBetween(LocalDateTime from, LocalDateTime to) {
+        int lo = lowerBound(toEpochSecond(from));
+        int hi = Math.max(lo, lowerBound(toEpochSecond(to)));
+        return hi - lo;
+    }
+
+    // Total amount per non-empty bucket, keyed by bucket start in ascending order.
+    public SortedMap<LocalDateTime, Double> totalAmountByBucket(TimeBucket bucket) {
+        SortedMap<LocalDateTime, Double> result = new TreeMap<>();
+        forEachBucket(bucket, (start, lo, hi) -> result.put(start, amountPrefixSums[hi] - amountPrefixSums[lo]));
+        return Collections.unmodifiableSortedMap(result);
+    }
+
+    // Transaction count per non-empty bucket, keyed by bucket start in ascending order.
+    public SortedMap<LocalDateTime, Long> countByBucket(TimeBucket bucket) {
+        SortedMap<LocalDateTime, Long> result = new TreeMap<>();
+        forEachBucket(bucket, (start, lo, hi) -> result.put(start, (long) (hi - lo)));
+        return Collections.unmodifiableSortedMap(result);
+    }
+
+    private void forEachBucket(TimeBucket bucket, BucketVisitor visitor) {
+        int lo = 0;
+        while (lo < epochSeconds.length) {
+            LocalDateTime start = bucket.startOf(toDateTime(epochSeconds[lo]));
+            int hi = lowerBound(toEpochSecond(bucket.next(start)));
+            visitor.visit(start, lo, hi);
+            lo = hi;
+        }
+    }
+
+    // First position whose epoch second is >= key (or size() if there is none).
+    private int lowerBound(long key) {
+        int lo = 0;
+        int hi = epochSeconds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochSeconds[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface BucketVisitor {
+        void visit(LocalDateTime bucketStart, int lo, int hi);
+    }
+}
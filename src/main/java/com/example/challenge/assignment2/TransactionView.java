@@ -0,0 +1,144 @@
+package com.example.challenge.assignment2;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flyweight over one row of an OffHeapTransactionStore.
+ *
+ * A view holds only the store and a row number; moveTo repositions it, and every
+ * getter reads straight from the off-heap columns. Primitive getters and the
+ * dictionary-backed string getters do not allocate. getTransactionId,
+ * getAccountNumber and getTransactionDate build new objects, as does toTransaction.
+ */
+public final class TransactionView {
+
+    private final OffHeapTransactionStore store;
+    private long row;
+
+    TransactionView(OffHeapTransactionStore store) {
+        this.store = store;
+    }
+
+    public TransactionView moveTo(long row) {
+        if (row < 0 || row >= store.size()) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside store of size " + store.size());
+        }
+        this.row = row;
+        return this;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getTransactionId() {
+        return store.transactionId(row);
+    }
+
+    public String getAccountNumber() {
+        return store.accountNumber(row);
+    }
+
+    // Seconds since the epoch (UTC), or Long.MIN_VALUE when the row had no date.
+    public long getEpochSecond() {
+        return store.epochSeconds.getLong(row);
+    }
+
+    public LocalDateTime getTransactionDate() {
+        long epochSecond = getEpochSecond();
+        return epochSecond == Long.MIN_VALUE ? null : TransactionTimeIndex.toDateTime(epochSecond);
+    }
+
+    public double getTransactionAmount() {
+        return store.amounts.getDouble(row);
+    }
+
+    public String getTransactionType() {
+        return dictionaryValue(Dimension.TRANSACTION_TYPE);
+    }
+
+    public int getCustomerAge() {
+        return store.ages.getShort(row);
+    }
+
+    public String getCustomerGender() {
+        return dictionaryValue(Dimension.CUSTOMER_GENDER);
+    }
+
+    public double getCustomerIncome() {
+        return store.incomes.getDouble(row);
+    }
+
+    public double getAccountBalance() {
+        return store.balances.getDouble(row);
+    }
+
+    public String getCategory() {
+        return dictionaryValue(Dimension.CATEGORY);
+    }
+
+    public String getMerchantName() {
+        return dictionaryValue(Dimension.MERCHANT);
+    }
+
+    public String getPaymentMethod() {
+        return dictionaryValue(Dimension.PAYMENT_METHOD);
+    }
+
+    public String getCity() {
+        return dictionaryValue(Dimension.CITY);
+    }
+
+    public boolean isFraudulent() {
+        return (store.flags.getByte(row) & OffHeapTransactionStore.FLAG_FRAUDULENT) != 0;
+    }
+
+    public String getTransactionStatus() {
+        return dictionaryValue(Dimension.TRANSACTION_STATUS);
+    }
+
+    public int getLoyaltyPointsEarned() {
+        return store.loyaltyPoints.getInt(row);
+    }
+
+    public boolean isDiscountApplied() {
+        return (store.flags.getByte(row) & OffHeapTransactionStore.FLAG_DISCOUNT) != 0;
+    }
+
+    // Dictionary id of a stored dimension for this row; see OffHeapTransactionStore.dictionary.
+    public int getId(Dimension dimension) {
+        return store.dimensionId(dimension, row);
+    }
+
+    // Copies the row into a regular on-heap BankTransaction.
+    public BankTransaction toTransaction() {
+        return new BankTransaction(
+                getTransactionId(),
+                getAccountNumber(),
+                getTransactionDate(),
+                getTransactionAmount(),
+                getTransactionType(),
+                getCustomerAge(),
+                getCustomerGender(),
+                getCustomerIncome(),
+                getAccountBalance(),
+                getCategory(),
+                getMerchantName(),
+                getPaymentMethod(),
+                getCity(),
+                isFraudulent(),
+                getTransactionStatus(),
+                getLoyaltyPointsEarned(),
+                isDiscountApplied()
+        );
+    }
+
+    private String dictionaryValue(Dimension dimension) {
+        return store.dictionaryOf(dimension).get(store.dimensionId(dimension, row));
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionView{row=" + row + ", " + toTransaction() + "}";
+    }
+}
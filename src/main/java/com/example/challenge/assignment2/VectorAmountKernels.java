@@ -0,0 +1,156 @@
+package com.example.challenge.assignment2;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the jdk.incubator.vector API. Only loaded through KernelSelection.
+ *
+ * Grouped sums keep one vector accumulator per group and compare a lane of
+ * group ids against each group id in turn; rows are processed in L1-sized
+ * blocks so each block is read from memory once. Ids are widened to doubles
+ * per block because int-to-double mask casts are not intrinsified on JDK 17.
+ * The work grows with the number of groups, so this only beats the scalar
+ * scatter loop for one or two groups (measured crossover at about three on
+ * AVX-512); above MAX_VECTOR_GROUPS the scalar loop is used instead.
+ *
+ * Real group-bys (5 payment methods to 14 categories, thousands of merchants)
+ * are therefore not vectorized. Two other layouts were measured on JDK 17 /
+ * AVX-512 and neither beat the scalar loop at those sizes: comparing int ids
+ * and casting the mask to double lanes (not intrinsified, ~30x slower), and a
+ * lane-private histogram updated by gather/scatter (about scalar speed).
+ */
+final class VectorAmountKernels implements AmountKernels {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    static final int MAX_VECTOR_GROUPS = 2;
+    private static final int BLOCK_ROWS = 2048;
+
+    VectorAmountKernels() {
+        if (DOUBLES.length() < 2) {
+            throw new IllegalStateException("Vector shape " + DOUBLES + " is too narrow for the amount kernels");
+        }
+    }
+
+    @Override
+    public double maskedSum(double[] values, boolean[] mask) {
+        // Kahan summation per lane; unmasked lanes load as 0 and leave their lane unchanged
+        DoubleVector sum = DoubleVector.zero(DOUBLES);
+        DoubleVector compensation = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        int upper = DOUBLES.loopBound(values.length);
+        for (; i < upper; i += DOUBLES.length()) {
+            VectorMask<Double> m = VectorMask.fromArray(DOUBLES, mask, i);
+            DoubleVector y = DoubleVector.fromArray(DOUBLES, values, i, m).sub(compensation);
+            DoubleVector t = sum.add(y);
+            compensation = t.sub(sum).sub(y);
+            sum = t;
+        }
+
+        // Lane totals and the tail go through one more compensated sum
+        double[] total = new double[1];
+        double[] carry = new double[1];
+        double[] laneSums = sum.sub(compensation).toArray();
+        for (double laneSum : laneSums) {
+            ScalarAmountKernels.addCompensated(total, carry, 0, laneSum);
+        }
+        for (; i < values.length; i++) {
+            if (mask[i]) {
+                ScalarAmountKernels.addCompensated(total, carry, 0, values[i]);
+            }
+        }
+        ScalarAmountKernels.finish(total, carry);
+        return total[0];
+    }
+
+    @Override
+    public int indexOfMax(double[] values) {
+        if (values.length == 0) {
+            return -1;
+        }
+
+        // Pass 1: the maximum itself. MAX propagates NaN, so NaN lanes are masked out,
+        // matching the scalar kernel, which never picks a NaN.
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        int upper = DOUBLES.loopBound(values.length);
+        for (; i < upper; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, values, i);
+            maxes = maxes.lanewise(VectorOperators.MAX, v, v.eq(v));
+        }
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < values.length; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+
+        // Pass 2: its first position
+        i = 0;
+        for (; i < upper; i += DOUBLES.length()) {
+            VectorMask<Double> hit = DoubleVector.fromArray(DOUBLES, values, i).eq(max);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        for (; i < values.length; i++) {
+            if (values[i] == max) {
+                return i;
+            }
+        }
+        return 0; // only reachable when every value is NaN
+    }
+
+    @Override
+    public void groupedSum(double[] values, int[] groupIds, double[] sums, long[] counts) {
+        int groups = sums.length;
+        if (groups > MAX_VECTOR_GROUPS) {
+            ScalarAmountKernels.INSTANCE.groupedSum(values, groupIds, sums, counts);
+            return;
+        }
+
+        int lanes = DOUBLES.length();
+        int upper = DOUBLES.loopBound(values.length);
+        double[] blockIds = new double[BLOCK_ROWS];
+        DoubleVector ones = DoubleVector.broadcast(DOUBLES, 1.0);
+        // Each block is summed plainly (short chains, small error); block totals are Kahan-added
+        double[] compensation = new double[groups];
+        for (int blockStart = 0; blockStart < upper; blockStart += BLOCK_ROWS) {
+            int blockLength = Math.min(upper - blockStart, BLOCK_ROWS);
+
+            // Widen the block's ids to doubles once, so group masks are plain double compares
+            for (int i = 0; i < blockLength; i++) {
+                blockIds[i] = groupIds[blockStart + i];
+            }
+
+            for (int g = 0; g < groups; g++) {
+                DoubleVector sum = DoubleVector.zero(DOUBLES);
+                DoubleVector count = DoubleVector.zero(DOUBLES);
+                for (int i = 0; i < blockLength; i += lanes) {
+                    VectorMask<Double> inGroup = DoubleVector.fromArray(DOUBLES, blockIds, i).eq(g);
+                    sum = sum.add(DoubleVector.fromArray(DOUBLES, values, blockStart + i), inGroup);
+                    count = count.add(ones, inGroup);
+                }
+                ScalarAmountKernels.addCompensated(sums, compensation, g, sum.reduceLanes(VectorOperators.ADD));
+                counts[g] += (long) count.reduceLanes(VectorOperators.ADD);
+            }
+        }
+
+        for (int i = upper; i < values.length; i++) {
+            int g = groupIds[i];
+            if (g >= 0) {
+                ScalarAmountKernels.addCompensated(sums, compensation, g, values[i]);
+                counts[g]++;
+            }
+        }
+        ScalarAmountKernels.finish(sums, compensation);
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + DOUBLES.vectorBitSize() + "-bit)";
+    }
+}
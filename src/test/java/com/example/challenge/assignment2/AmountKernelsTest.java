@@ -0,0 +1,134 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the amount kernels.
+ *
+ * This suite verifies:
+ * 1. The scalar kernels on small hand-checked inputs, including empty arrays
+ * 2. The vector kernels agree with the scalar ones on sizes that exercise both
+ * the vector loop and the scalar tail (skipped when the Vector API is off)
+ * 3. Grouped sums above the vector group limit, and filtered (-1) rows
+ * 4. Masked and grouped sums are compensated, so long runs of small amounts do not drift
+ * 5. indexOfMax skips NaN in both implementations
+ */
+class AmountKernelsTest {
+
+    // Verifies the scalar kernels on a small hand-checked input.
+    @Test
+    void scalarKernels_computeExpectedResults() {
+        AmountKernels kernels = AmountKernels.scalar();
+        double[] values = {10.0, 40.0, 25.0, 40.0, 5.0};
+
+        assertEquals(35.0, kernels.maskedSum(values, new boolean[] {true, false, true, false, false}), 1e-9);
+        assertEquals(1, kernels.indexOfMax(values)); // first of the two 40.0s
+        assertEquals(-1, kernels.indexOfMax(new double[0]));
+
+        double[] sums = new double[2];
+        long[] counts = new long[2];
+        kernels.groupedSum(values, new int[] {0, 1, -1, 1, 0}, sums, counts);
+        assertArrayEquals(new double[] {15.0, 80.0}, sums, 1e-9);
+        assertArrayEquals(new long[] {2, 2}, counts);
+    }
+
+    // Verifies the vector kernels match the scalar kernels on random data of awkward sizes.
+    @Test
+    void vectorKernels_matchScalarKernels() {
+        AmountKernels vector = AmountKernels.vector();
+        assumeTrue(vector != null, "jdk.incubator.vector is not enabled");
+        AmountKernels scalar = AmountKernels.scalar();
+
+        SplittableRandom random = new SplittableRandom(7);
+        for (int size : new int[] {0, 1, 3, 8, 1023, 5389, 100_003}) {
+            double[] values = new double[size];
+            boolean[] mask = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Math.round(random.nextDouble(10.0, 5000.0) * 100) / 100.0;
+                mask[i] = random.nextInt(10) == 0;
+            }
+
+            assertEquals(scalar.maskedSum(values, mask), vector.maskedSum(values, mask), 1e-6 * Math.max(1, size));
+            assertEquals(scalar.indexOfMax(values), vector.indexOfMax(values));
+
+            for (int groups : new int[] {1, 2, VectorAmountKernels.MAX_VECTOR_GROUPS + 1, 14, 300}) {
+                int[] ids = new int[size];
+                for (int i = 0; i < size; i++) {
+                    ids[i] = random.nextInt(20) == 0 ? -1 : random.nextInt(groups);
+                }
+                double[] expectedSums = new double[groups];
+                long[] expectedCounts = new long[groups];
+                scalar.groupedSum(values, ids, expectedSums, expectedCounts);
+
+                double[] sums = new double[groups];
+                long[] counts = new long[groups];
+                vector.groupedSum(values, ids, sums, counts);
+
+                assertArrayEquals(expectedCounts, counts);
+                assertArrayEquals(expectedSums, sums, 1e-6 * Math.max(1, size));
+            }
+        }
+    }
+
+    // Verifies that a million 0.10 amounts sum to 100000.00 where a plain loop drifts by ~1e-6.
+    @Test
+    void sums_areCompensated() {
+        double[] values = new double[1_000_000];
+        Arrays.fill(values, 0.1);
+        int[] ids = new int[values.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i % 2;
+        }
+        double naive = 0.0;
+        for (double value : values) {
+            naive += value;
+        }
+        assertTrue(Math.abs(naive - 100_000.0) > 1e-7, "plain summation should drift on this input");
+
+        for (AmountKernels kernels : new AmountKernels[] {AmountKernels.scalar(), AmountKernels.vector()}) {
+            if (kernels == null) {
+                continue;
+            }
+            double[] sums = new double[2];
+            kernels.groupedSum(values, ids, sums, new long[2]);
+            assertEquals(50_000.0, sums[0], 1e-9, kernels.name());
+            assertEquals(50_000.0, sums[1], 1e-9, kernels.name());
+
+            boolean[] all = new boolean[values.length];
+            Arrays.fill(all, true);
+            assertEquals(100_000.0, kernels.maskedSum(values, all), 1e-9, kernels.name());
+        }
+    }
+
+    // Verifies that NaN never wins indexOfMax, wherever it sits, in either implementation.
+    @Test
+    void indexOfMax_skipsNaN() {
+        for (AmountKernels kernels : new AmountKernels[] {AmountKernels.scalar(), AmountKernels.vector()}) {
+            if (kernels == null) {
+                continue;
+            }
+            assertEquals(3, kernels.indexOfMax(new double[] {Double.NaN, 3.0, Double.NaN, 7.0, 1.0}), kernels.name());
+
+            // Long enough for the vector loop, with NaN in vector lanes and in the tail
+            double[] values = new double[37];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i % 3 == 0 ? Double.NaN : i % 10;
+            }
+            values[20] = 100.0;
+            assertEquals(20, kernels.indexOfMax(values), kernels.name());
+
+            double[] allNaN = new double[20];
+            Arrays.fill(allNaN, Double.NaN);
+            assertEquals(0, kernels.indexOfMax(allNaN), kernels.name());
+
+            double[] negativeInfinity = {Double.NaN, Double.NEGATIVE_INFINITY, Double.NaN, Double.NEGATIVE_INFINITY};
+            assertEquals(1, kernels.indexOfMax(negativeInfinity), kernels.name());
+        }
+    }
+}
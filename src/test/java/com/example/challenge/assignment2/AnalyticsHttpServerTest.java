@@ -0,0 +1,122 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the embedded HTTP endpoint.
+ *
+ * This suite verifies:
+ * 1. Report endpoints return 200 with a JSON body and an ETag
+ * 2. A matching If-None-Match is answered with 304 over the same keep-alive connection
+ * 3. Unknown paths, bad parameters and non-GET methods get 404, 400 and 405
+ * 4. JsonWriter escapes strings and writes non-finite numbers as null
+ */
+class AnalyticsHttpServerTest {
+
+    private AnalyticsHttpServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        List<BankTransaction> txs = List.of(
+                tx("T1", 100.0, "Food", "MerchantA", false),
+                tx("T2", 250.0, "Food", "MerchantB", true),
+                tx("T3", 50.0, "Food", "MerchantA", false));
+        server = new AnalyticsHttpServer(new BankingAnalyticsService(txs), "v1", 0, 2);
+        server.start();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + server.getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    // Verifies that report endpoints serve the service's results as JSON.
+    @Test
+    void get_returnsJsonReport() throws Exception {
+        HttpResponse<String> totals = get("/api/totals/category", null);
+        assertEquals(200, totals.statusCode());
+        assertEquals("{\"Food\":400.0}", totals.body());
+        assertTrue(totals.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+
+        assertEquals("{\"fraudulentTotal\":250.0}", get("/api/fraud/total", null).body());
+        assertEquals("[{\"name\":\"MerchantB\",\"totalAmount\":250.0}]",
+                get("/api/merchants/top?limit=1", null).body());
+    }
+
+    // Verifies that the ETag is stable and revalidation yields an empty 304, repeatedly.
+    @Test
+    void get_withMatchingEtag_returnsNotModified() throws Exception {
+        HttpResponse<String> first = get("/api/totals/category", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertTrue(etag.contains("v1"));
+
+        // Several rounds so a dropped keep-alive connection would surface as an IOException
+        for (int i = 0; i < 5; i++) {
+            HttpResponse<String> revalidated = get("/api/totals/category", etag);
+            assertEquals(304, revalidated.statusCode());
+            assertEquals("", revalidated.body());
+        }
+
+        // Different query string, different representation
+        HttpResponse<String> other = get("/api/merchants/top?limit=2", etag);
+        assertEquals(200, other.statusCode());
+        assertNotEquals(etag, other.headers().firstValue("ETag").orElseThrow());
+    }
+
+    // Verifies the error statuses for unknown paths, bad limits and unsupported methods.
+    @Test
+    void errors_mapToStatusCodes() throws Exception {
+        assertEquals(404, get("/api/nope", null).statusCode());
+        assertEquals(400, get("/api/merchants/top?limit=x", null).statusCode());
+        assertEquals(400, get("/api/merchants/top?limit=-1", null).statusCode());
+
+        HttpResponse<String> post = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/fraud/total"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, post.statusCode());
+        assertEquals("GET, HEAD", post.headers().firstValue("Allow").orElse(null));
+    }
+
+    // Verifies JSON escaping and the NaN/Infinity fallback.
+    @Test
+    void jsonWriter_escapesAndHandlesNonFinite() throws Exception {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).beginObject()
+                .name("s").value("a\"b\\c\n\u0001")
+                .name("nan").value(Double.NaN)
+                .name("n").value(3L)
+                .name("b").value(true)
+                .endObject().flush();
+        assertEquals("{\"s\":\"a\\\"b\\\\c\\n\\u0001\",\"nan\":null,\"n\":3,\"b\":true}", out.toString());
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private BankTransaction tx(String id, double amount, String category, String merchant, boolean fraudulent) {
+        return new BankTransaction(id, "ACC1", LocalDateTime.of(2023, 1, 1, 0, 0), amount, "Debit", 30, "Male",
+                50000.0, 1000.0, category, merchant, "Credit Card", "Seattle", fraudulent, "Success", 0, false);
+    }
+}
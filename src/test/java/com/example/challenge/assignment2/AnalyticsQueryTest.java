@@ -0,0 +1,111 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the generic query API (AnalyticsQuery + QueryExecutor).
+ *
+ * This suite verifies:
+ * 1. Every aggregate (sum, count, avg, min, max) over a single group-by
+ * 2. Group-by over several dimensions at once
+ * 3. Dimension, measure, date and flag filters, combined with AND
+ * 4. Ungrouped queries and queries where no row matches
+ */
+class AnalyticsQueryTest {
+
+    private final List<BankTransaction> txs = List.of(
+            tx("T1", 100.0, "Food", "Seattle", false, LocalDateTime.of(2023, 1, 1, 9, 0)),
+            tx("T2", 50.0, "Food", "LA", true, LocalDateTime.of(2023, 1, 2, 9, 0)),
+            tx("T3", 200.0, "Transport", "Seattle", false, LocalDateTime.of(2023, 1, 3, 9, 0)),
+            tx("T4", 25.0, "Food", "Seattle", true, LocalDateTime.of(2023, 1, 4, 9, 0)),
+            tx("T5", 400.0, "Transport", "LA", false, LocalDateTime.of(2023, 1, 5, 9, 0)));
+
+    private final BankingAnalyticsService service = new BankingAnalyticsService(txs);
+
+    // Verifies each aggregate function against a hand-computed answer.
+    @Test
+    void aggregates_computeExpectedValuesPerGroup() {
+        Map<String, Double> sum = service.query(AnalyticsQuery.sum(Measure.TRANSACTION_AMOUNT)
+                .groupBy(Dimension.CATEGORY)).asMap();
+        Map<String, Double> count = service.query(AnalyticsQuery.count()
+                .groupBy(Dimension.CATEGORY)).asMap();
+        Map<String, Double> avg = service.query(AnalyticsQuery.avg(Measure.TRANSACTION_AMOUNT)
+                .groupBy(Dimension.CATEGORY)).asMap();
+        Map<String, Double> min = service.query(AnalyticsQuery.min(Measure.TRANSACTION_AMOUNT)
+                .groupBy(Dimension.CATEGORY)).asMap();
+        Map<String, Double> max = service.query(AnalyticsQuery.max(Measure.TRANSACTION_AMOUNT)
+                .groupBy(Dimension.CATEGORY)).asMap();
+
+        assertEquals(175.0, sum.get("Food"), 1e-6);
+        assertEquals(600.0, sum.get("Transport"), 1e-6);
+        assertEquals(3.0, count.get("Food"), 1e-6);
+        assertEquals(300.0, avg.get("Transport"), 1e-6);
+        assertEquals(25.0, min.get("Food"), 1e-6);
+        assertEquals(400.0, max.get("Transport"), 1e-6);
+    }
+
+    // Verifies that grouping by two dimensions matches a stream-based reference.
+    @Test
+    void groupBy_multipleDimensionsMatchesStreamReference() {
+        QueryResult result = service.query(AnalyticsQuery.sum(Measure.TRANSACTION_AMOUNT)
+                .groupBy(Dimension.CITY, Dimension.CATEGORY));
+
+        Map<List<String>, Double> expected = txs.stream().collect(Collectors.groupingBy(
+                tx -> List.of(tx.getCity(), tx.getCategory()),
+                Collectors.summingDouble(BankTransaction::getTransactionAmount)));
+
+        assertEquals(expected.size(), result.getRows().size());
+        for (QueryResult.Row row : result.getRows()) {
+            assertEquals(expected.get(row.getKeys()), row.getValue(), 1e-6);
+        }
+    }
+
+    // Verifies that several filters are combined with AND.
+    @Test
+    void where_combinesFiltersWithAnd() {
+        QueryResult result = service.query(AnalyticsQuery.sum(Measure.TRANSACTION_AMOUNT)
+                .groupBy(Dimension.CITY)
+                .where(Filter.in(Dimension.CATEGORY, "Food", "Transport"))
+                .where(Filter.between(Measure.TRANSACTION_AMOUNT, 40.0, 250.0))
+                .where(Filter.dateBetween(LocalDateTime.of(2023, 1, 2, 0, 0), LocalDateTime.of(2023, 1, 5, 0, 0))));
+
+        Map<String, Double> byCity = result.asMap();
+        assertEquals(2, byCity.size());
+        assertEquals(50.0, byCity.get("LA"), 1e-6);       // T2
+        assertEquals(200.0, byCity.get("Seattle"), 1e-6); // T3
+
+        double fraudInSeattle = service.query(AnalyticsQuery.sum(Measure.TRANSACTION_AMOUNT)
+                .where(Filter.fraudulent(true))
+                .where(Filter.equalTo(Dimension.CITY, "Seattle"))).singleValue(0.0);
+        assertEquals(25.0, fraudInSeattle, 1e-6);
+    }
+
+    // Verifies that ungrouped queries with no matching rows yield no rows.
+    @Test
+    void query_returnsNoRowsWhenNothingMatches() {
+        QueryResult result = service.query(AnalyticsQuery.max(Measure.TRANSACTION_AMOUNT)
+                .where(Filter.equalTo(Dimension.CITY, "Boston")));
+
+        assertTrue(result.getRows().isEmpty());
+        assertEquals(-1.0, result.singleValue(-1.0), 1e-6);
+
+        QueryResult grouped = service.query(AnalyticsQuery.count()
+                .groupBy(Dimension.CATEGORY, Dimension.CITY)
+                .where(Filter.fraudulent(true))
+                .where(Filter.fraudulent(false)));
+        assertTrue(grouped.getRows().isEmpty());
+    }
+
+    private BankTransaction tx(String id, double amount, String category, String city,
+                               boolean fraudulent, LocalDateTime date) {
+        return new BankTransaction(id, date, amount, "Debit", 30, "Male", 50000.0, 1000.0,
+                category, "MerchantA", "Credit Card", city, fraudulent, "Success", 0, false);
+    }
+}
@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * where the requested top-N exceeds the number of available merchants
  * 6. Handling of invalid or out-of-range ages by placing them in an "Unknown"
  * band
+ * 7. Date-range totals and counts, and hourly/daily/monthly bucketed totals,
+ * overall and per dimension
  *
  * The tests use a helper method to quickly create BankTransaction instances
  * with specified attributes relevant to each test case.
@@ -210,6 +212,61 @@ class BankingAnalyticsServiceTest {
         assertEquals(300.0, result.get("26-35"), 1e-6);
     }
 
+    // Verifies that range totals and counts include from and exclude to.
+    @Test
+    void totalAmountBetween_usesHalfOpenRange() {
+        List<BankTransaction> txs = List.of(
+                txAt("T1", LocalDateTime.of(2023, 1, 1, 10, 0), 100.0, "Seattle"),
+                txAt("T2", LocalDateTime.of(2023, 1, 2, 10, 0), 50.0, "Seattle"),
+                txAt("T3", LocalDateTime.of(2023, 1, 2, 10, 0), 25.0, "LA"),
+                txAt("T4", LocalDateTime.of(2023, 1, 3, 10, 0), 200.0, "LA"));
+
+        BankingAnalyticsService service = new BankingAnalyticsService(txs);
+
+        LocalDateTime from = LocalDateTime.of(2023, 1, 2, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 1, 3, 10, 0);
+
+        assertEquals(75.0, service.totalAmountBetween(from, to), 1e-6);
+        assertEquals(2, service.transactionCountBetween(from, to));
+        assertEquals(375.0, service.totalAmountBetween(LocalDateTime.MIN, LocalDateTime.MAX), 1e-6);
+        assertEquals(0.0, service.totalAmountBetween(to, from), 1e-6);
+        assertEquals(25.0, service.totalAmountBetween(from, to, Dimension.CITY, "LA"), 1e-6);
+        assertEquals(0.0, service.totalAmountBetween(from, to, Dimension.CITY, "Boston"), 1e-6);
+    }
+
+    // Verifies that daily and monthly buckets sum and count the right transactions.
+    @Test
+    void totalAmountByTimeBucket_groupsByDayAndMonth() {
+        List<BankTransaction> txs = List.of(
+                txAt("T1", LocalDateTime.of(2023, 1, 1, 23, 59, 59), 100.0, "Seattle"),
+                txAt("T2", LocalDateTime.of(2023, 1, 2, 0, 0), 50.0, "Seattle"),
+                txAt("T3", LocalDateTime.of(2023, 1, 2, 18, 30), 25.0, "LA"),
+                txAt("T4", LocalDateTime.of(2023, 2, 14, 9, 0), 200.0, "LA"));
+
+        BankingAnalyticsService service = new BankingAnalyticsService(txs);
+
+        Map<LocalDateTime, Double> daily = service.totalAmountByTimeBucket(TimeBucket.DAY);
+        assertEquals(3, daily.size());
+        assertEquals(100.0, daily.get(LocalDateTime.of(2023, 1, 1, 0, 0)), 1e-6);
+        assertEquals(75.0, daily.get(LocalDateTime.of(2023, 1, 2, 0, 0)), 1e-6);
+        assertEquals(200.0, daily.get(LocalDateTime.of(2023, 2, 14, 0, 0)), 1e-6);
+
+        Map<LocalDateTime, Long> monthlyCounts = service.transactionCountByTimeBucket(TimeBucket.MONTH);
+        assertEquals(3L, monthlyCounts.get(LocalDateTime.of(2023, 1, 1, 0, 0)));
+        assertEquals(1L, monthlyCounts.get(LocalDateTime.of(2023, 2, 1, 0, 0)));
+
+        Map<String, ? extends Map<LocalDateTime, Double>> hourlyByCity =
+                service.totalAmountByTimeBucket(TimeBucket.HOUR, Dimension.CITY);
+        assertEquals(25.0, hourlyByCity.get("LA").get(LocalDateTime.of(2023, 1, 2, 18, 0)), 1e-6);
+        assertEquals(2, hourlyByCity.get("Seattle").size());
+    }
+
+    // Helper for time-based tests where only date, amount and city matter
+    private BankTransaction txAt(String id, LocalDateTime date, double amount, String city) {
+        return new BankTransaction(id, date, amount, "Debit", 30, "Male", 50000.0, 1000.0,
+                "Food", "MerchantA", "Credit Card", city, false, "Success", 0, false);
+    }
+
     // Helper to construct BankTransaction objects quickly for tests
     private BankTransaction tx(String id,
             double amount,
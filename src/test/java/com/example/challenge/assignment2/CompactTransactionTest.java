@@ -0,0 +1,115 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactTransaction and BankTransactionRepository.findAllCompact.
+ *
+ * This suite verifies:
+ * 1. Every compact row of the bundled dataset expands back to the same BankTransaction as findAll
+ * 2. Repeated strings are shared between rows and closed-set columns become enums
+ * 3. The fast date parser agrees with the formatter findAll uses, including the dates it rejects
+ * 4. Non-UUID ids, unknown labels and out-of-range ages survive conversion
+ * 5. Grouping by the PaymentMethod enum matches the service's per-label totals
+ */
+class CompactTransactionTest {
+
+    private static final Path DATASET = Path.of("data", "bankTransactionsDataset.csv");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Verifies that compact loading loses nothing.
+    @Test
+    void findAllCompact_matchesFindAll() {
+        BankTransactionRepository repository = new BankTransactionRepository(DATASET);
+        List<BankTransaction> expected = repository.findAll();
+        List<CompactTransaction> compact = repository.findAllCompact();
+
+        assertEquals(expected.size(), compact.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), compact.get(i).toTransaction().toString());
+            assertEquals(compact.get(i), CompactTransaction.of(expected.get(i)));
+        }
+    }
+
+    // Verifies canonical strings, enums and flags.
+    @Test
+    void findAllCompact_sharesStringsAndUsesEnums() {
+        List<CompactTransaction> compact = new BankTransactionRepository(DATASET).findAllCompact();
+
+        CompactTransaction first = compact.get(0);
+        CompactTransaction sameCity = compact.stream()
+                .skip(1)
+                .filter(tx -> tx.city().equals(first.city()))
+                .findFirst().orElseThrow();
+        assertSame(first.city(), sameCity.city());
+
+        assertTrue(compact.stream().noneMatch(tx -> tx.type() == CompactTransaction.Type.UNKNOWN
+                || tx.customerGender() == CompactTransaction.Gender.UNKNOWN
+                || tx.paymentMethod() == CompactTransaction.PaymentMethod.UNKNOWN
+                || tx.status() == CompactTransaction.Status.UNKNOWN));
+        assertTrue(compact.stream().anyMatch(CompactTransaction::fraudulent));
+        assertTrue(compact.stream().allMatch(tx -> tx.otherId() == null));
+    }
+
+    // Verifies the enum grouping path against BankingAnalyticsService.
+    @Test
+    void totalAmountByPaymentMethod_matchesService() {
+        BankTransactionRepository repository = new BankTransactionRepository(DATASET);
+        Map<String, Double> expected = new BankingAnalyticsService(repository.findAll()).totalAmountByPaymentMethod();
+        Map<CompactTransaction.PaymentMethod, Double> actual =
+                CompactTransaction.totalAmountByPaymentMethod(repository.findAllCompact());
+
+        assertEquals(expected.size(), actual.size());
+        actual.forEach((method, total) -> assertEquals(expected.get(method.label()), total, 1e-6, method.label()));
+        assertTrue(CompactTransaction.totalAmountByPaymentMethod(List.of()).isEmpty());
+    }
+
+    // Verifies the allocation-free date parser.
+    @Test
+    void parseEpochSecond_matchesLocalDateTime() {
+        assertEquals(TransactionTimeIndex.toEpochSecond(LocalDateTime.of(2024, 2, 29, 23, 59, 59)),
+                CompactTransaction.parseEpochSecond("2024-02-29 23:59:59"));
+        assertEquals(0L, CompactTransaction.parseEpochSecond("1970-01-01 00:00:00"));
+        assertEquals(TransactionTimeIndex.toEpochSecond(LocalDateTime.parse("2023-02-30 10:00:00", FORMATTER)),
+                CompactTransaction.parseEpochSecond("2023-02-30 10:00:00"));
+        assertEquals(TransactionTimeIndex.toEpochSecond(LocalDateTime.parse("2023-01-01 24:00:00", FORMATTER)),
+                CompactTransaction.parseEpochSecond("2023-01-01 24:00:00"));
+        assertThrows(RuntimeException.class, () -> CompactTransaction.parseEpochSecond("2023-13-01 10:00:00"));
+        assertThrows(RuntimeException.class, () -> CompactTransaction.parseEpochSecond("2023-1-1 10:00:00"));
+    }
+
+    // Verifies fallbacks for ids and labels outside the compact encodings.
+    @Test
+    void of_keepsOtherIdsAndMapsUnknownLabels() {
+        BankTransaction tx = new BankTransaction("TX-42", "ACC1", LocalDateTime.of(2023, 5, 1, 8, 30),
+                10.5, "Refund", 30, "Male", 1000.0, 50.0, "Food", "Shop", "Cheque", "Dallas",
+                true, "Success", 7, true);
+        CompactTransaction compact = CompactTransaction.of(tx);
+
+        assertEquals("TX-42", compact.transactionId());
+        assertEquals(CompactTransaction.Type.UNKNOWN, compact.type());
+        assertEquals(CompactTransaction.PaymentMethod.UNKNOWN, compact.paymentMethod());
+        assertEquals(CompactTransaction.Gender.MALE, compact.customerGender());
+        assertTrue(compact.fraudulent());
+        assertTrue(compact.discountApplied());
+        assertEquals(tx.getTransactionDate(), compact.transactionDate());
+
+        String uuid = "bdd640fb-0667-4ad1-9c80-317fa3b1799d";
+        assertEquals(uuid, CompactTransaction.of(new BankTransaction(uuid, "ACC1", null, 1.0, "Debit", 30,
+                "Male", 1.0, 1.0, "Food", "Shop", "Cash", "Dallas", false, "Success", 0, false)).transactionId());
+        assertFalse(CompactTransaction.isCanonicalUuid(uuid.toUpperCase()));
+
+        BankTransaction old = new BankTransaction("TX-43", "ACC1", null, 1.0, "debit", 40_000, "Male",
+                1.0, 1.0, "Food", "Shop", "Cash", "Dallas", false, "Success", 0, false);
+        assertEquals(Short.MAX_VALUE, CompactTransaction.of(old).customerAge());
+        assertEquals(CompactTransaction.Type.DEBIT, CompactTransaction.of(old).type());
+    }
+}
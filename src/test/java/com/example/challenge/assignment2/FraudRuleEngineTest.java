@@ -0,0 +1,153 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming fraud-rule engine.
+ *
+ * This suite verifies:
+ * 1. Velocity alerts fire once an account exceeds N transactions in the window
+ * and stop once old events fall out of it
+ * 2. Amount-spike alerts compare against the account's rolling mean
+ * 3. Repeat-merchant alerts count hits on the same merchant in the window
+ * 4. Partitioning across several workers yields the same alerts as one worker
+ * 5. A failing sink surfaces from submit/close instead of blocking the producer
+ * 6. Configurations under which a rule could never fire, or always fires, are rejected
+ */
+class FraudRuleEngineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 4, 21, 12, 0);
+
+    // 10 minute window, >3 transactions, 3x mean after 2 events, 3 hits on one merchant
+    private final FraudRuleConfig config = new FraudRuleConfig(Duration.ofMinutes(10), 16, 3, 3.0, 2, 3);
+
+    // Verifies that velocity fires on the 4th event in the window and not after the window slides.
+    @Test
+    void velocity_firesWhenTooManyTransactionsInWindow() throws InterruptedException {
+        List<FraudAlert> alerts = run(1, List.of(
+                tx("T1", "ACC1", 0, 100.0, "M1"),
+                tx("T2", "ACC1", 1, 100.0, "M2"),
+                tx("T3", "ACC1", 2, 100.0, "M3"),
+                tx("T4", "ACC1", 3, 100.0, "M4"),   // 4 in window -> alert
+                tx("T5", "ACC1", 30, 100.0, "M5"),  // window has slid past T1..T4
+                tx("T6", "ACC2", 3, 100.0, "M6"))); // other account unaffected
+
+        assertEquals(List.of("T4"), idsFor(alerts, FraudRule.VELOCITY));
+    }
+
+    // Verifies that a spike is measured against the rolling mean of earlier events only.
+    @Test
+    void amountSpike_comparesAgainstRollingMean() throws InterruptedException {
+        List<FraudAlert> alerts = run(1, List.of(
+                tx("T1", "ACC1", 0, 100.0, "M1"),
+                tx("T2", "ACC1", 1, 1000.0, "M2"),  // only one event of history -> no alert
+                tx("T3", "ACC1", 2, 200.0, "M3"),
+                tx("T4", "ACC1", 3, 1200.0, "M4"),  // mean 433.33, 3x = 1300 -> no alert
+                tx("T5", "ACC2", 0, 10.0, "M1"),
+                tx("T6", "ACC2", 1, 10.0, "M2"),
+                tx("T7", "ACC2", 2, 31.0, "M3")));  // mean 10, 3x = 30 -> alert
+
+        assertEquals(List.of("T7"), idsFor(alerts, FraudRule.AMOUNT_SPIKE));
+    }
+
+    // Verifies that the third hit on one merchant inside the window raises an alert.
+    @Test
+    void repeatMerchant_firesOnThirdHitInWindow() throws InterruptedException {
+        List<FraudAlert> alerts = run(1, List.of(
+                tx("T1", "ACC1", 0, 100.0, "Shop"),
+                tx("T2", "ACC1", 4, 100.0, "Other"),
+                tx("T3", "ACC1", 8, 100.0, "Shop"),
+                tx("T4", "ACC1", 9, 100.0, "Shop"),   // third Shop within 10 minutes
+                tx("T5", "ACC1", 25, 100.0, "Shop"))); // earlier hits evicted
+
+        assertEquals(List.of("T4"), idsFor(alerts, FraudRule.REPEAT_MERCHANT));
+    }
+
+    // Verifies that four workers produce exactly the alerts of one worker.
+    @Test
+    void partitionedWorkers_matchSingleWorker() throws InterruptedException {
+        List<BankTransaction> events = new ArrayList<>();
+        for (int minute = 0; minute < 200; minute++) {
+            for (int account = 0; account < 50; account++) {
+                double amount = (minute + account) % 17 == 0 ? 5000.0 : 100.0 + account;
+                events.add(tx("T" + minute + "-" + account, "ACC" + account, minute / 4,
+                        amount, "M" + (minute % 3)));
+            }
+        }
+
+        List<String> single = run(1, events).stream().map(FraudAlert::toString).sorted().collect(Collectors.toList());
+        List<String> partitioned = run(4, events).stream().map(FraudAlert::toString).sorted().collect(Collectors.toList());
+
+        assertFalse(single.isEmpty());
+        assertEquals(single, partitioned);
+    }
+
+    // Verifies that a throwing sink fails the engine instead of leaving submit()/close() blocked.
+    @Test
+    void failingSink_surfacesFromSubmitOrCloseWithoutBlocking() {
+        // Far more batches than the worker queue holds, all on one account so velocity fires early
+        int events = FraudRuleEngine.BATCH_SIZE * 64;
+        IllegalStateException thrown = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(IllegalStateException.class, () -> {
+                    FraudRuleEngine engine = new FraudRuleEngine(1, config, alert -> {
+                        throw new IllegalArgumentException("sink down");
+                    });
+                    try {
+                        for (int i = 0; i < events; i++) {
+                            engine.submit(tx("T" + i, "ACC1", 0, 100.0, "M" + i));
+                        }
+                    } finally {
+                        engine.close();
+                    }
+                }));
+
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+        assertEquals("sink down", thrown.getCause().getMessage());
+    }
+
+    private List<FraudAlert> run(int workers, List<BankTransaction> events) throws InterruptedException {
+        List<FraudAlert> alerts = Collections.synchronizedList(new ArrayList<>());
+        FraudRuleEngine engine = new FraudRuleEngine(workers, config, alerts::add);
+        for (BankTransaction event : events) {
+            engine.submit(event);
+        }
+        engine.close();
+        assertEquals(events.size(), engine.processedCount());
+        return alerts;
+    }
+
+    private List<String> idsFor(List<FraudAlert> alerts, FraudRule rule) {
+        return alerts.stream()
+                .filter(alert -> alert.getRule() == rule)
+                .map(FraudAlert::getTransactionId)
+                .collect(Collectors.toList());
+    }
+
+    private BankTransaction tx(String id, String account, int minutesAfterStart, double amount, String merchant) {
+        return new BankTransaction(id, account, T0.plusMinutes(minutesAfterStart), amount, "Debit", 30, "Male",
+                50000.0, 1000.0, "Food", merchant, "Credit Card", "Seattle", false, "Success", 0, false);
+    }
+
+    // Verifies that contradictory thresholds fail at construction instead of silently disabling a rule.
+    @Test
+    void config_rejectsThresholdsThatDisableRules() {
+        Duration window = Duration.ofMinutes(10);
+        assertThrows(IllegalArgumentException.class, () -> new FraudRuleConfig(window, 16, 3, 0.0, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> new FraudRuleConfig(window, 16, 3, Double.NaN, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> new FraudRuleConfig(window, 16, 3, 3.0, 17, 3));
+        assertThrows(IllegalArgumentException.class, () -> new FraudRuleConfig(window, 16, 3, 3.0, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new FraudRuleConfig(window, 16, 3, 3.0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FraudRuleConfig(window, 16, 3, 3.0, 2, 17));
+        assertDoesNotThrow(() -> new FraudRuleConfig(window, 16, 3, 3.0, 16, 16));
+    }
+
+}
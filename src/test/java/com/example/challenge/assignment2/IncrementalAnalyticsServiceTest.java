@@ -0,0 +1,174 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the incrementally maintained analytics.
+ *
+ * This suite verifies:
+ * 1. After add/addAll every report equals the batch BankingAnalyticsService result
+ * 2. Snapshots taken while several writers are running are internally consistent
+ * 3. Snapshots build on each other, and are reused while nothing new was added
+ * 4. A snapshot copies only the merchant shards that changed
+ * 5. An empty service yields empty reports and no largest transaction
+ */
+class IncrementalAnalyticsServiceTest {
+
+    // Verifies that incremental reports equal the batch service over the same data.
+    @Test
+    void reports_matchBatchService() {
+        List<BankTransaction> txs = new ArrayList<>();
+        String[] categories = {"Food", "Transport", "Travel"};
+        String[] cities = {"Seattle", "LA"};
+        for (int i = 0; i < 500; i++) {
+            txs.add(tx("T" + i, 10.0 + (i * 37) % 991, categories[i % 3], cities[i % 2],
+                    "Merchant" + (i % 23), i % 7 == 0, 15 + i % 60));
+        }
+
+        IncrementalAnalyticsService incremental = new IncrementalAnalyticsService();
+        incremental.add(txs.get(0));
+        incremental.addAll(txs.subList(1, txs.size()));
+        AnalyticsSnapshot snapshot = incremental.snapshot();
+
+        BankingAnalyticsService batch = new BankingAnalyticsService(txs);
+
+        assertEquals(500, snapshot.transactionCount());
+        assertMapsEqual(batch.totalAmountByCategory(), snapshot.totalAmountByCategory());
+        assertMapsEqual(batch.totalAmountByCity(), snapshot.totalAmountByCity());
+        assertMapsEqual(batch.totalAmountByPaymentMethod(), snapshot.totalAmountByPaymentMethod());
+        assertMapsEqual(batch.averageAmountByAgeBand(), snapshot.averageAmountByAgeBand());
+        assertEquals(batch.totalFraudulentAmount(), snapshot.totalFraudulentAmount(), 1e-6);
+        assertEquals(batch.largestTransaction().getTransactionId(), snapshot.largestTransaction().getTransactionId());
+
+        List<Map.Entry<String, Double>> expectedTop = batch.topMerchantsByTotalAmount(5);
+        List<Map.Entry<String, Double>> actualTop = snapshot.topMerchantsByTotalAmount(5);
+        assertEquals(5, actualTop.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expectedTop.get(i).getKey(), actualTop.get(i).getKey());
+            assertEquals(expectedTop.get(i).getValue(), actualTop.get(i).getValue(), 1e-6);
+        }
+    }
+
+    // Verifies that every snapshot taken during concurrent writes describes one exact set of rows.
+    @Test
+    void snapshots_areConsistentWhileWritersRun() throws InterruptedException {
+        IncrementalAnalyticsService service = new IncrementalAnalyticsService();
+        int writers = 4;
+        int batchesPerWriter = 200;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> {
+                for (int b = 0; b < batchesPerWriter; b++) {
+                    List<BankTransaction> batch = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        // amount 1.0 per row, so every total must equal the row count
+                        batch.add(tx("W" + writer + "-" + b + "-" + i, 1.0, "Food", i % 2 == 0 ? "Seattle" : "LA",
+                                "Merchant" + i, true, 30));
+                    }
+                    service.addAll(batch);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        boolean writersRunning = true;
+        while (writersRunning) {
+            AnalyticsSnapshot snapshot = service.snapshot();
+            long count = snapshot.transactionCount();
+            assertEquals(0, count % 10, "a snapshot must never see a partial batch");
+            assertEquals(count, sum(snapshot.totalAmountByCategory()), 1e-9);
+            assertEquals(count, sum(snapshot.totalAmountByCity()), 1e-9);
+            assertEquals(count, snapshot.totalFraudulentAmount(), 1e-9);
+            writersRunning = threads.stream().anyMatch(Thread::isAlive);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(writers * batchesPerWriter * 10L, service.snapshot().transactionCount());
+    }
+
+    // Verifies that each snapshot folds in only what was added since the previous one.
+    @Test
+    void snapshots_accumulateAndAreReusedWhenUnchanged() {
+        IncrementalAnalyticsService service = new IncrementalAnalyticsService();
+        service.add(tx("T1", 50.0, "Food", "Seattle", "M1", false, 30));
+        AnalyticsSnapshot first = service.snapshot();
+        assertSame(first, service.snapshot());
+
+        service.add(tx("T2", 70.0, "Food", "LA", "M2", true, 30));
+        service.add(tx("T3", 70.0, "Travel", "LA", "M1", false, 45));
+        AnalyticsSnapshot second = service.snapshot();
+
+        assertEquals(1, first.transactionCount());
+        assertEquals(Map.of("Food", 50.0), first.totalAmountByCategory());
+        assertEquals(3, second.transactionCount());
+        assertEquals(Map.of("Food", 120.0, "Travel", 70.0), second.totalAmountByCategory());
+        assertEquals(Map.of("Seattle", 50.0, "LA", 140.0), second.totalAmountByCity());
+        assertEquals(60.0, second.averageAmountByAgeBand().get(Dimension.toAgeBand(30)), 1e-9);
+        assertEquals(70.0, second.totalFraudulentAmount(), 1e-9);
+        assertEquals("T2", second.largestTransaction().getTransactionId());
+        assertEquals("M1", second.topMerchantsByTotalAmount(1).get(0).getKey());
+    }
+
+    // Verifies that merchant shards without new rows are shared with the previous snapshot.
+    @Test
+    void snapshot_copiesOnlyChangedMerchantShards() {
+        IncrementalAnalyticsService service = new IncrementalAnalyticsService();
+        List<BankTransaction> batch = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(tx("T" + i, 1.0 + i, "Food", "LA", "Merchant" + i, false, 30));
+        }
+        service.addAll(batch);
+        AnalyticsSnapshot before = service.snapshot();
+
+        service.add(tx("T-new", 5_000.0, "Food", "LA", "Merchant7", false, 30));
+        AnalyticsSnapshot after = service.snapshot();
+
+        int changedShard = IncrementalAnalyticsService.shardOf("Merchant7");
+        for (int shard = 0; shard < IncrementalAnalyticsService.MERCHANT_SHARDS; shard++) {
+            if (shard == changedShard) {
+                assertNotSame(before.merchantShards().get(shard), after.merchantShards().get(shard));
+            } else {
+                assertSame(before.merchantShards().get(shard), after.merchantShards().get(shard));
+            }
+        }
+        assertEquals(5_008.0, after.topMerchantsByTotalAmount(1).get(0).getValue(), 1e-9);
+        assertEquals("Merchant7", after.topMerchantsByTotalAmount(1).get(0).getKey());
+    }
+
+    // Verifies the empty-service edge case.
+    @Test
+    void emptyService_hasEmptyReports() {
+        AnalyticsSnapshot snapshot = new IncrementalAnalyticsService().snapshot();
+
+        assertEquals(0, snapshot.transactionCount());
+        assertTrue(snapshot.totalAmountByCategory().isEmpty());
+        assertNull(snapshot.largestTransaction());
+        assertTrue(snapshot.topMerchantsByTotalAmount(5).isEmpty());
+    }
+
+    private static double sum(Map<String, Double> totals) {
+        return totals.values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    private static void assertMapsEqual(Map<String, Double> expected, Map<String, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key), 1e-6, key));
+    }
+
+    private BankTransaction tx(String id, double amount, String category, String city,
+                               String merchant, boolean fraudulent, int age) {
+        return new BankTransaction(id, "ACC1", LocalDateTime.of(2023, 1, 1, 0, 0), amount, "Debit", age, "Male",
+                50000.0, 1000.0, category, merchant, "Credit Card", city, fraudulent, "Success", 0, false);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the off-heap transaction store.
+ *
+ * This suite verifies:
+ * 1. Every field round-trips through the flyweight view, across segment boundaries
+ * 2. Off-heap reports equal the BankingAnalyticsService reports
+ * 3. Memory-mapped stores behave like direct ones and delete their files on close
+ * 4. Mapped stores sharing a directory stay isolated and leave foreign files alone
+ * 5. BankTransactionRepository.forEach streams a file straight into the store
+ * 6. The largest segment shift still gives a valid string segment size, and larger ones are rejected
+ */
+class OffHeapTransactionStoreTest {
+
+    @TempDir
+    Path dir;
+
+    // Verifies that every field survives a store round trip, with tiny segments to cross boundaries.
+    @Test
+    void view_roundTripsAllFields() {
+        List<BankTransaction> txs = sample(100);
+        try (OffHeapTransactionStore store = smallSegments()) {
+            store.addAll(txs);
+            assertEquals(100, store.size());
+
+            TransactionView view = store.view();
+            for (int i = 0; i < txs.size(); i++) {
+                assertEquals(txs.get(i).toString(), view.moveTo(i).toTransaction().toString());
+            }
+            assertEquals(txs.get(7).getCategory(), view.moveTo(7).getCategory());
+            assertEquals(store.dictionary(Dimension.CITY).indexOf(txs.get(7).getCity()), view.getId(Dimension.CITY));
+            assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(100));
+        }
+    }
+
+    // Verifies that scanning the off-heap columns gives the same reports as the on-heap service.
+    @Test
+    void analytics_matchOnHeapService() {
+        List<BankTransaction> txs = sample(1_000);
+        try (OffHeapTransactionStore store = smallSegments()) {
+            store.addAll(txs);
+            OffHeapAnalyticsService offHeap = new OffHeapAnalyticsService(store);
+            BankingAnalyticsService onHeap = new BankingAnalyticsService(txs);
+
+            assertMapsClose(onHeap.totalAmountByCategory(), offHeap.totalAmountByCategory());
+            assertMapsClose(onHeap.totalAmountByCity(), offHeap.totalAmountByCity());
+            assertMapsClose(onHeap.totalAmountByPaymentMethod(), offHeap.totalAmountByPaymentMethod());
+            assertMapsClose(onHeap.averageAmountByAgeBand(), offHeap.averageAmountByAgeBand());
+            assertEquals(onHeap.totalFraudulentAmount(), offHeap.totalFraudulentAmount(), 1e-6);
+            assertEquals(onHeap.largestTransaction().getTransactionId(), offHeap.largestTransaction().getTransactionId());
+            assertEquals(onHeap.topMerchantsByTotalAmount(3).get(0).getKey(),
+                    offHeap.topMerchantsByTotalAmount(3).get(0).getKey());
+        }
+    }
+
+    // Verifies the memory-mapped variant and that close() removes its segment files.
+    @Test
+    void mappedStore_readsBackAndCleansUp() throws Exception {
+        Path storeDir = dir.resolve("store");
+        List<BankTransaction> txs = sample(50);
+        OffHeapTransactionStore store = OffHeapTransactionStore.mapped(storeDir);
+        store.addAll(txs);
+        assertTrue(store.offHeapBytes() > 0);
+        assertFalse(isEmpty(storeDir));
+        assertEquals(txs.get(49).toString(), store.view().moveTo(49).toTransaction().toString());
+        assertEquals(new OffHeapAnalyticsService(store).totalFraudulentAmount(),
+                new BankingAnalyticsService(txs).totalFraudulentAmount(), 1e-6);
+
+        store.close();
+        assertTrue(isEmpty(storeDir));
+        assertThrows(IllegalStateException.class, () -> store.add(txs.get(0)));
+    }
+
+    // Verifies that two live stores can share a directory and closing one leaves everything else alone.
+    @Test
+    void mappedStores_shareDirectoryWithoutTouchingOtherFiles() throws Exception {
+        Path storeDir = dir.resolve("shared");
+        Files.createDirectories(storeDir);
+        Path foreign = Files.writeString(storeDir.resolve("amount-0.col"), "not ours");
+        List<BankTransaction> txs = sample(40);
+
+        try (OffHeapTransactionStore first = OffHeapTransactionStore.mapped(storeDir)) {
+            OffHeapTransactionStore second = OffHeapTransactionStore.mapped(storeDir);
+            first.addAll(txs);
+            second.addAll(txs);
+
+            second.close();
+            assertEquals(txs.get(39).toString(), first.view().moveTo(39).toTransaction().toString());
+        }
+
+        assertTrue(Files.exists(foreign));
+        try (var files = Files.list(storeDir)) {
+            assertEquals(List.of(foreign), files.collect(Collectors.toList()));
+        }
+    }
+
+    // Verifies that a CSV can be streamed into the store without materializing a list.
+    @Test
+    void repositoryForEach_feedsStore() {
+        Path csv = dir.resolve("synthetic.csv");
+        new SyntheticDatasetGenerator(3L, 40, 8, 100).generate(csv, 2_000, 1);
+        BankTransactionRepository repository = new BankTransactionRepository(csv);
+
+        try (OffHeapTransactionStore store = OffHeapTransactionStore.direct()) {
+            repository.forEach(store::add);
+            assertEquals(2_000, store.size());
+            assertMapsClose(new BankingAnalyticsService(repository.findAll()).totalAmountByCity(),
+                    new OffHeapAnalyticsService(store).totalAmountByCity());
+        }
+    }
+
+    // Verifies the segment-shift bounds; segments are allocated lazily, so nothing large is allocated here.
+    @Test
+    void segmentShift_isBoundedSoStringSegmentsFitAnInt() {
+        OffHeapTransactionStore.SegmentAllocator allocator = (name, bytes) -> ByteBuffer.allocateDirect(bytes);
+        try (OffHeapTransactionStore store =
+                     new OffHeapTransactionStore(allocator, null, OffHeapTransactionStore.MAX_SEGMENT_SHIFT)) {
+            assertEquals(1 << 30, store.strings.segmentBytes);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapTransactionStore(allocator, null, OffHeapTransactionStore.MAX_SEGMENT_SHIFT + 1));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapTransactionStore(allocator, null, 3));
+    }
+
+    private static OffHeapTransactionStore smallSegments() {
+        return new OffHeapTransactionStore((name, bytes) -> ByteBuffer.allocateDirect(bytes), null, 4);
+    }
+
+    private static boolean isEmpty(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    private static void assertMapsClose(Map<String, Double> expected, Map<String, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key), 1e-6, key));
+    }
+
+    private static List<BankTransaction> sample(int rows) {
+        String[] categories = {"Food", "Travel", "Utilities"};
+        String[] cities = {"Seattle", "Austin", "Boston", "Denver"};
+        List<BankTransaction> txs = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            // Mix of UUID and plain ids, and one row without a date
+            String id = i % 3 == 0 ? "TX-" + i : new UUID(i * 31L, i * 17L + 1).toString();
+            LocalDateTime date = i == 5 ? null : LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i * 7L);
+            txs.add(new BankTransaction(id, "ACC" + (i % 13), date, 10.0 + (i * 37) % 991 + i / 100.0,
+                    i % 2 == 0 ? "Debit" : "Credit", i % 9 == 0 ? 0 : 18 + i % 60, i % 2 == 0 ? "Male" : "Female",
+                    20_000.0 + i, 500.0 + i, categories[i % 3], "Merchant" + (i % 17), "Cash", cities[i % 4],
+                    i % 7 == 0, "Success", i % 500, i % 4 == 0));
+        }
+        return txs;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PartitionedTransactionRepository.
+ *
+ * This suite verifies:
+ * 1. Loading every daily partition returns exactly the rows of the original file
+ * 2. Date-range queries return the right rows and read only overlapping partitions, even without a manifest
+ * 3. The manifest is persisted, and a changed partition is re-read instead of pruned
+ * 4. The manifest is never listed as a partition, even by a catch-all glob
+ */
+class PartitionedTransactionRepositoryTest {
+
+    private static final Path DATASET = Path.of("data", "bankTransactionsDataset.csv");
+    private static final String GLOB = "date=*/*.csv";
+
+    @TempDir
+    Path dir;
+
+    // Verifies that the partitions together hold the whole dataset.
+    @Test
+    void findAll_returnsEveryRowOfEveryPartition() throws Exception {
+        int days = PartitionedDatasetApp.splitByDay(DATASET, dir);
+        PartitionedTransactionRepository repository = new PartitionedTransactionRepository(dir, GLOB, 4);
+
+        List<String> expected = ids(new BankTransactionRepository(DATASET).findAll());
+        List<String> actual = ids(repository.findAll());
+
+        assertEquals(days, repository.listFiles().size());
+        assertEquals(days, repository.getPartitionsRead());
+        assertEquals(expected.stream().sorted().collect(Collectors.toList()),
+                actual.stream().sorted().collect(Collectors.toList()));
+    }
+
+    // Verifies filtering and pruning for a one-week range.
+    @Test
+    void findBetween_readsOnlyOverlappingPartitions() throws Exception {
+        PartitionedDatasetApp.splitByDay(DATASET, dir);
+        PartitionedTransactionRepository repository = new PartitionedTransactionRepository(dir, GLOB, 2);
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 6, 8, 0, 0);
+
+        List<String> expected = new BankTransactionRepository(DATASET).findAll().stream()
+                .filter(tx -> !tx.getTransactionDate().isBefore(from) && tx.getTransactionDate().isBefore(to))
+                .map(BankTransaction::getTransactionId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        // No manifest yet: the date= paths alone prune the other days
+        assertFalse(Files.exists(dir.resolve(PartitionedTransactionRepository.MANIFEST_FILE)));
+        List<String> first = ids(repository.findBetween(from, to));
+        long readWithoutManifest = repository.getPartitionsRead();
+        assertEquals(7, readWithoutManifest);
+
+        List<String> second = ids(repository.findBetween(from, to));
+        long readWithManifest = repository.getPartitionsRead() - readWithoutManifest;
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, first.stream().sorted().collect(Collectors.toList()));
+        assertEquals(expected, second.stream().sorted().collect(Collectors.toList()));
+        assertEquals(7, readWithManifest);
+    }
+
+    // Verifies manifest persistence and invalidation.
+    @Test
+    void manifest_isReusedAndInvalidatedByChanges() throws Exception {
+        PartitionedDatasetApp.splitByDay(DATASET, dir);
+        List<PartitionedTransactionRepository.Partition> partitions =
+                new PartitionedTransactionRepository(dir, GLOB).partitions();
+        assertTrue(Files.exists(dir.resolve(PartitionedTransactionRepository.MANIFEST_FILE)));
+        assertEquals(new BankTransactionRepository(DATASET).findAll().size(),
+                partitions.stream().mapToLong(PartitionedTransactionRepository.Partition::getRows).sum());
+
+        PartitionedTransactionRepository.Partition june1 = partitions.stream()
+                .filter(p -> p.getPath().startsWith("date=2023-06-01"))
+                .findFirst().orElseThrow();
+        assertEquals(LocalDateTime.of(2023, 6, 1, 0, 0), june1.getMinDate().toLocalDate().atStartOfDay());
+        assertTrue(june1.getMinDate().compareTo(june1.getMaxDate()) <= 0);
+
+        // A fresh repository trusts the stored manifest
+        PartitionedTransactionRepository reopened = new PartitionedTransactionRepository(dir, GLOB);
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 6, 2, 0, 0);
+        int before = reopened.findBetween(from, to).size();
+        assertEquals(1, reopened.getPartitionsRead());
+
+        // After the last row of June 1st the manifest's max date prunes the partition
+        LocalDateTime afterLast = june1.getMaxDate().plusSeconds(1);
+        assertTrue(afterLast.isBefore(LocalDateTime.of(2023, 6, 1, 23, 59, 59)));
+        assertTrue(reopened.findBetween(afterLast, to).isEmpty());
+        assertEquals(1, reopened.getPartitionsRead());
+
+        // A late row appended to that file makes its entry stale, so it is read again
+        Path june1File = dir.resolve(june1.getPath());
+        String row = Files.readAllLines(june1File).get(1);
+        Files.writeString(june1File, row
+                        .replace(row.substring(0, 36), "00000000-0000-4000-8000-000000000000")
+                        .replaceFirst("2023-06-01 \\d{2}:\\d{2}:\\d{2}", "2023-06-01 23:59:59") + "\n",
+                StandardOpenOption.APPEND);
+
+        assertEquals(1, reopened.findBetween(afterLast, to).size());
+        assertEquals(before + 1, reopened.findBetween(from, to).size());
+        assertEquals(3, reopened.getPartitionsRead());
+    }
+
+    // Verifies that a glob matching every file skips the manifest and its temp file.
+    @Test
+    void listFiles_excludesManifest() throws Exception {
+        int days = PartitionedDatasetApp.splitByDay(DATASET, dir);
+        new PartitionedTransactionRepository(dir, GLOB).partitions();
+        Files.writeString(dir.resolve(PartitionedTransactionRepository.MANIFEST_FILE + ".tmp"), "leftover");
+
+        PartitionedTransactionRepository everything = new PartitionedTransactionRepository(dir, "**");
+        assertEquals(days, everything.listFiles().size());
+        assertEquals(new BankTransactionRepository(DATASET).findAll().size(), everything.findAll().size());
+    }
+
+    private static List<String> ids(List<BankTransaction> transactions) {
+        return transactions.stream().map(BankTransaction::getTransactionId).collect(Collectors.toList());
+    }
+}
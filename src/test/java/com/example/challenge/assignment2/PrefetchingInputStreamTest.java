@@ -0,0 +1,106 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PrefetchingInputStream and the repository reading through it.
+ *
+ * This suite verifies:
+ * 1. The stream returns exactly the file's bytes for any block size and read-ahead depth
+ * 2. findAll returns the same transactions with and without read-ahead
+ * 3. close() stops the background reader, and bad settings are rejected
+ */
+class PrefetchingInputStreamTest {
+
+    @TempDir
+    Path dir;
+
+    // Verifies byte-for-byte equality across block boundaries.
+    @Test
+    void read_returnsFileContentsForAnyBlockSize() throws Exception {
+        byte[] content = new byte[100_003];
+        new Random(7).nextBytes(content);
+        Path file = Files.write(dir.resolve("data.bin"), content);
+        Path empty = Files.write(dir.resolve("empty.bin"), new byte[0]);
+
+        for (int blockSize : new int[]{1, 7, 4096, 1 << 20}) {
+            for (int readAhead : new int[]{1, 3}) {
+                try (InputStream in = new PrefetchingInputStream(file, blockSize, readAhead)) {
+                    assertArrayEquals(content, readInChunks(in, 1000), "block " + blockSize + ", depth " + readAhead);
+                    assertEquals(-1, in.read());
+                }
+            }
+        }
+        try (InputStream in = new PrefetchingInputStream(empty, 16, 1)) {
+            assertEquals(-1, in.read());
+        }
+        // Single-byte reads cross block boundaries too
+        try (InputStream in = new PrefetchingInputStream(file, 7, 2)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int value;
+            while ((value = in.read()) >= 0) {
+                out.write(value);
+            }
+            assertArrayEquals(content, out.toByteArray());
+        }
+    }
+
+    // Verifies that read-ahead does not change what the repository loads.
+    @Test
+    void findAll_isUnchangedByReadAhead() {
+        Path dataset = Path.of("data", "bankTransactionsDataset.csv");
+        List<String> synchronous = asStrings(
+                new BankTransactionRepository(dataset, StageProfiler.disabled(), 1, 0).findAll());
+        List<String> prefetched = asStrings(
+                new BankTransactionRepository(dataset, StageProfiler.disabled(), 64 * 1024, 2).findAll());
+        List<String> profiled = asStrings(
+                new BankTransactionRepository(dataset, StageProfiler.enabled(), 4096, 1).findAll());
+
+        assertEquals(synchronous, prefetched);
+        assertEquals(synchronous, profiled);
+    }
+
+    // Verifies shutdown and argument checks.
+    @Test
+    void close_stopsReaderAndRejectsFurtherReads() throws Exception {
+        Path file = Files.write(dir.resolve("data.bin"), new byte[1 << 20]);
+        PrefetchingInputStream in = new PrefetchingInputStream(file, 1024, 2);
+        assertTrue(in.read() >= 0);
+        in.close();
+        in.close();
+
+        assertThrows(IOException.class, in::read);
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> thread.getName().equals("Prefetch-Reader") && thread.isAlive()));
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchingInputStream(file, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchingInputStream(file, 1024, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BankTransactionRepository(file, StageProfiler.disabled(), 1024, -1));
+    }
+
+    private static byte[] readInChunks(InputStream in, int chunk) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[chunk];
+        int count;
+        while ((count = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<String> asStrings(List<BankTransaction> transactions) {
+        return transactions.stream().map(BankTransaction::toString).collect(Collectors.toList());
+    }
+}
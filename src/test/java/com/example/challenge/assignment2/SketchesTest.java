@@ -0,0 +1,184 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the approximate-analytics sketches.
+ *
+ * This suite verifies:
+ * 1. HyperLogLog estimates stay within a few percent and merging counts the union
+ * 2. KLL quantiles stay within the expected rank error, also after merging
+ * 3. SummaryTable computes exact totals alongside the sketches and survives a
+ * serialize/merge round trip, as when combining results across files
+ * 4. A SummaryTable without a distinct dimension keeps only exact figures and quantiles,
+ * and a distinct-only table keeps only exact figures and distinct counts
+ * 5. The service-level distinct-count and quantile reports
+ */
+class SketchesTest {
+
+    // Verifies HyperLogLog accuracy and that merging two sketches estimates the union.
+    @Test
+    void hyperLogLog_estimatesDistinctCountAndMergesUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            left.add("ACC" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            right.add("ACC" + i);
+        }
+
+        assertEquals(60_000, left.estimate(), 60_000 * 0.05);
+
+        left.merge(right);
+        assertEquals(100_000, left.estimate(), 100_000 * 0.05);
+
+        HyperLogLog small = new HyperLogLog();
+        small.add("a");
+        small.add("b");
+        small.add("a");
+        assertEquals(2, small.estimate());
+    }
+
+    // Verifies KLL quantiles on uniform data, before and after a merge.
+    @Test
+    void kllSketch_quantilesWithinRankError() {
+        SplittableRandom random = new SplittableRandom(42);
+        KllSketch first = new KllSketch();
+        KllSketch second = new KllSketch();
+        for (int i = 0; i < 100_000; i++) {
+            first.add(random.nextDouble() * 1000.0);
+            second.add(1000.0 + random.nextDouble() * 1000.0);
+        }
+
+        assertEquals(500.0, first.quantile(0.5), 1000.0 * 0.02);
+        assertEquals(990.0, first.quantile(0.99), 1000.0 * 0.02);
+
+        first.merge(second);
+        assertEquals(200_000, first.getCount());
+        assertEquals(1000.0, first.quantile(0.5), 2000.0 * 0.02);
+        assertEquals(1900.0, first.quantile(0.95), 2000.0 * 0.02);
+        assertEquals(first.getMin(), first.quantile(0.0));
+        assertEquals(first.getMax(), first.quantile(1.0));
+    }
+
+    // Verifies that a table written, read back and merged equals a table over all rows.
+    @Test
+    void summaryTable_roundTripsAndMergesAcrossInputs() throws IOException {
+        List<BankTransaction> part1 = new ArrayList<>();
+        List<BankTransaction> part2 = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            part1.add(tx("ACC" + (i % 50), i % 2 == 0 ? "Seattle" : "LA", i));
+            part2.add(tx("ACC" + (i % 80), "Seattle", 1000 + i));
+        }
+
+        SummaryTable table1 = SummaryTable.compute(new TransactionColumns(part1),
+                Dimension.CITY, Dimension.ACCOUNT_NUMBER, Measure.TRANSACTION_AMOUNT);
+        SummaryTable table2 = SummaryTable.compute(new TransactionColumns(part2),
+                Dimension.CITY, Dimension.ACCOUNT_NUMBER, Measure.TRANSACTION_AMOUNT);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        table2.writeTo(bytes);
+        SummaryTable restored = SummaryTable.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+
+        SummaryTable merged = table1.merge(restored);
+
+        GroupSummary seattle = merged.get("Seattle");
+        assertEquals(1500, seattle.getCount());
+        assertEquals(0.0, seattle.getMin(), 1e-9);
+        assertEquals(1999.0, seattle.getMax(), 1e-9);
+        assertEquals(80, seattle.getApproximateDistinctCount(), 2);  // ACC0..ACC79
+        assertEquals(25, merged.get("LA").getApproximateDistinctCount(), 1); // odd ids of ACC0..ACC49
+
+        double expectedSum = 0;
+        for (int i = 0; i < 1000; i += 2) {
+            expectedSum += i;
+        }
+        for (int i = 0; i < 1000; i++) {
+            expectedSum += 1000 + i;
+        }
+        assertEquals(expectedSum, seattle.getSum(), 1e-6);
+    }
+
+    // Verifies the quantile-only table: no HyperLogLog, still serializable, not mergeable with a full one.
+    @Test
+    void summaryTable_withoutDistinctDimension() throws IOException {
+        List<BankTransaction> txs = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            txs.add(tx("ACC" + i, "Seattle", i));
+        }
+        TransactionColumns columns = new TransactionColumns(txs);
+        SummaryTable table = SummaryTable.compute(columns, Dimension.CITY, Measure.TRANSACTION_AMOUNT);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        table.writeTo(bytes);
+        GroupSummary seattle = SummaryTable.readFrom(new ByteArrayInputStream(bytes.toByteArray())).get("Seattle");
+        assertEquals(100, seattle.getCount());
+        assertEquals(5050.0, seattle.getSum(), 1e-9);
+        assertEquals(50.0, seattle.getQuantile(0.5), 1.0);
+        assertThrows(IllegalStateException.class, seattle::getApproximateDistinctCount);
+
+        SummaryTable full = SummaryTable.compute(columns, Dimension.CITY, Dimension.ACCOUNT_NUMBER, Measure.TRANSACTION_AMOUNT);
+        assertThrows(IllegalArgumentException.class, () -> full.merge(table));
+    }
+
+    // Verifies the distinct-only table: no KLL sketch, still serializable, not mergeable with a full one.
+    @Test
+    void summaryTable_withoutQuantiles() throws IOException {
+        List<BankTransaction> txs = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            txs.add(tx("ACC" + (i % 10), "Seattle", i));
+        }
+        TransactionColumns columns = new TransactionColumns(txs);
+        SummaryTable table = SummaryTable.computeDistinct(columns, Dimension.CITY, Dimension.ACCOUNT_NUMBER,
+                Measure.TRANSACTION_AMOUNT);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        table.writeTo(bytes);
+        GroupSummary seattle = SummaryTable.readFrom(new ByteArrayInputStream(bytes.toByteArray())).get("Seattle");
+        assertEquals(100, seattle.getCount());
+        assertEquals(10, seattle.getApproximateDistinctCount());
+        assertThrows(IllegalStateException.class, () -> seattle.getQuantile(0.5));
+
+        SummaryTable full = SummaryTable.compute(columns, Dimension.CITY, Dimension.ACCOUNT_NUMBER, Measure.TRANSACTION_AMOUNT);
+        assertThrows(IllegalArgumentException.class, () -> full.merge(table));
+    }
+
+    // Verifies the service-level distinct-count and quantile reports.
+    @Test
+    void service_reportsDistinctAccountsAndQuantiles() {
+        List<BankTransaction> txs = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            txs.add(tx("ACC" + (i % 10), "Seattle", i));
+        }
+        txs.add(tx("ACC99", "LA", 5.0));
+
+        BankingAnalyticsService service = new BankingAnalyticsService(txs);
+
+        Map<String, Long> accountsByCity = service.approximateDistinctCount(Dimension.CITY, Dimension.ACCOUNT_NUMBER);
+        assertEquals(10L, accountsByCity.get("Seattle"));
+        assertEquals(1L, accountsByCity.get("LA"));
+
+        double[] quantiles = service.approximateQuantiles(Dimension.CITY, Measure.TRANSACTION_AMOUNT, 0.5, 0.99)
+                .get("Seattle");
+        assertEquals(50.0, quantiles[0], 1.0);
+        assertEquals(99.0, quantiles[1], 1.0);
+    }
+
+    private BankTransaction tx(String account, String city, double amount) {
+        return new BankTransaction("T-" + account + "-" + amount, account, LocalDateTime.of(2023, 1, 1, 0, 0),
+                amount, "Debit", 30, "Male", 50000.0, 1000.0, "Food", "MerchantA", "Credit Card", city,
+                false, "Success", 0, false);
+    }
+}
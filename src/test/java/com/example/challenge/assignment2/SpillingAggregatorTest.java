@@ -0,0 +1,148 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the spill-to-disk aggregator.
+ *
+ * This suite verifies:
+ * 1. Results under a tiny memory budget equal the in-memory results exactly
+ * 2. Partitions that stay over budget are re-split and still merge correctly
+ * 3. Spill files are removed once results have been read
+ * 4. Merchant totals equal BankingAnalyticsService's totals rounded to cents, exactly
+ * 5. Keys sharing a String.hashCode are still separated by re-splitting
+ * 6. A partition still over budget at the last level fails instead of exceeding the budget
+ */
+class SpillingAggregatorTest {
+
+    @TempDir
+    Path dir;
+
+    // Verifies that spilling changes nothing about the results, down to the last cent.
+    @Test
+    void spilledResults_equalInMemoryResults() {
+        SpillingAggregator inMemory = new SpillingAggregator(Long.MAX_VALUE, 8, dir);
+        SpillingAggregator spilling = new SpillingAggregator(16 * 1024, 8, dir);
+        Map<String, long[]> expected = new HashMap<>();
+
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 50_000; i++) {
+            String key = "Merchant " + random.nextInt(5_000);
+            double amount = random.nextInt(1_000_000) / 100.0;
+            inMemory.add(key, amount);
+            spilling.add(key, amount);
+            long[] group = expected.computeIfAbsent(key, k -> new long[2]);
+            group[0] += SpillingAggregator.toCents(amount);
+            group[1]++;
+        }
+
+        assertFalse(inMemory.hasSpilled());
+        assertTrue(spilling.hasSpilled());
+
+        Map<String, long[]> fromInMemory = collect(inMemory);
+        Map<String, long[]> fromSpilled = collect(spilling);
+        assertEquals(expected.size(), fromSpilled.size());
+        expected.forEach((key, group) -> {
+            assertArrayEquals(group, fromInMemory.get(key), key);
+            assertArrayEquals(group, fromSpilled.get(key), key);
+        });
+    }
+
+    // Verifies that a budget smaller than any single partition forces re-splitting and still merges exactly.
+    @Test
+    void overBudgetPartitions_areResplit() throws Exception {
+        SpillingAggregator aggregator = new SpillingAggregator(2 * 1024, 2, dir);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4_000; i++) {
+                aggregator.addCents("Account " + i, i, 1);
+            }
+        }
+
+        Map<String, long[]> result = collect(aggregator);
+        assertEquals(4_000, result.size());
+        for (int i = 0; i < 4_000; i++) {
+            assertArrayEquals(new long[]{3L * i, 3}, result.get("Account " + i));
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count(), "spill directory should be cleaned up");
+        }
+        assertThrows(IllegalStateException.class, () -> aggregator.add("late", 1.0));
+    }
+
+    // Verifies agreement with the existing merchant totals on ordinary transactions.
+    @Test
+    void merchantTotals_matchAnalyticsService() {
+        Path csv = dir.resolve("synthetic.csv");
+        new SyntheticDatasetGenerator(5L, 300, 10, 100).generate(csv, 5_000, 1);
+        BankTransactionRepository repository = new BankTransactionRepository(csv);
+
+        SpillingAggregator aggregator = new SpillingAggregator(8 * 1024, 4, dir.resolve("spill"));
+        repository.forEach(tx -> aggregator.add(tx.getMerchantName(), tx.getTransactionAmount()));
+        Map<String, long[]> spilled = collect(aggregator);
+        assertTrue(aggregator.hasSpilled());
+
+        // The aggregator sums exact cents; the service's double sums round to the same cents
+        Map<String, Long> expected = new HashMap<>();
+        new BankingAnalyticsService(repository.findAll()).topMerchantsByTotalAmount(Integer.MAX_VALUE)
+                .forEach(entry -> expected.put(entry.getKey(), SpillingAggregator.toCents(entry.getValue())));
+        assertEquals(expected.keySet(), spilled.keySet());
+        expected.forEach((key, cents) -> assertEquals(cents.longValue(), spilled.get(key)[0], key));
+    }
+
+    // Verifies that keys with identical String.hashCode values can be split across partitions.
+    @Test
+    void collidingHashCodes_areStillResplit() {
+        // "Aa" and "BB" share a hashCode, so every 8-block string over them does too
+        List<String> keys = new ArrayList<>();
+        for (int bits = 0; bits < 256; bits++) {
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                key.append((bits >> i & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(key.toString());
+        }
+        assertEquals(1, keys.stream().mapToInt(String::hashCode).distinct().count());
+
+        SpillingAggregator aggregator = new SpillingAggregator(2 * 1024, 4, dir, 6);
+        for (int round = 0; round < 2; round++) {
+            keys.forEach(key -> aggregator.addCents(key, 5, 1));
+        }
+
+        Map<String, long[]> result = collect(aggregator);
+        assertEquals(keys.size(), result.size());
+        keys.forEach(key -> assertArrayEquals(new long[]{10, 2}, result.get(key), key));
+    }
+
+    // Verifies that running out of levels is reported rather than silently ignoring the budget.
+    @Test
+    void overBudgetAtLastLevel_failsAndCleansUp() throws Exception {
+        SpillingAggregator aggregator = new SpillingAggregator(2 * 1024, 2, dir, 1);
+        for (int i = 0; i < 4_000; i++) {
+            aggregator.addCents("Account " + i, i, 1);
+        }
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> collect(aggregator));
+        assertTrue(error.getMessage().contains("memory budget"), error.getMessage());
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count(), "spill directory should be cleaned up");
+        }
+    }
+
+    private static Map<String, long[]> collect(SpillingAggregator aggregator) {
+        Map<String, long[]> result = new HashMap<>();
+        aggregator.forEachGroup((key, sumCents, count) ->
+                assertNull(result.put(key, new long[]{sumCents, count}), "duplicate group " + key));
+        return result;
+    }
+}
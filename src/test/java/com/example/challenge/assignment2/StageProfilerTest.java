@@ -0,0 +1,182 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the stage profiler and its instrumentation.
+ *
+ * This suite verifies:
+ * 1. Nested stages are subtracted from their parent's self time and allocation
+ * 2. Stopping a timer unwinds inner timers left running, and unmatched start/stop calls are rejected
+ * 3. A disabled profiler records nothing and prints nothing
+ * 4. Profiled CSV loading reports every stage per batch, with bytes read equal to the file size
+ * 5. A failed load still stops every stage it started
+ * 6. Profiled service reports appear as stages and return the same results
+ */
+class StageProfilerTest {
+
+    @TempDir
+    Path dir;
+
+    // Verifies self/total accounting across nested timers.
+    @Test
+    void nestedStages_areExcludedFromParentSelfTime() throws Exception {
+        StageProfiler profiler = StageProfiler.enabled();
+        StageProfiler.Timer outer = profiler.timer("outer");
+        StageProfiler.Timer inner = profiler.timer("inner");
+
+        outer.start();
+        inner.start();
+        Thread.sleep(20);
+        byte[] garbage = new byte[1 << 20];
+        inner.stop(garbage.length > 0 ? 10 : 0);
+        outer.stop(10);
+
+        assertEquals(List.of("outer", "inner"),
+                profiler.getTimers().stream().map(StageProfiler.Timer::getName).collect(Collectors.toList()));
+        assertTrue(inner.getTotalNanos() >= 20_000_000L);
+        assertTrue(outer.getTotalNanos() >= inner.getTotalNanos());
+        assertEquals(outer.getTotalNanos() - inner.getTotalNanos(), outer.getSelfNanos());
+        assertTrue(inner.getSelfAllocatedBytes() >= 1 << 20);
+        assertTrue(outer.getSelfAllocatedBytes() < 1 << 20);
+        assertEquals(10, inner.getRows());
+        assertEquals(1, outer.getCalls());
+    }
+
+    // Verifies that stop() unwinds an inner timer an exception skipped, and rejects unmatched calls.
+    @Test
+    void stop_unwindsInnerTimersLeftRunning() {
+        StageProfiler profiler = StageProfiler.enabled();
+        StageProfiler.Timer outer = profiler.timer("outer");
+        StageProfiler.Timer inner = profiler.timer("inner");
+        StageProfiler.Timer next = profiler.timer("next");
+
+        outer.start();
+        inner.start();
+        outer.stop(1); // inner.stop() was skipped
+        next.start();
+        next.stop(1);
+
+        assertEquals(1, outer.getCalls());
+        assertEquals(1, inner.getCalls());
+        assertEquals(outer.getTotalNanos() - inner.getTotalNanos(), outer.getSelfNanos());
+        assertEquals(next.getTotalNanos(), next.getSelfNanos());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.printReport(new PrintStream(out));
+        assertTrue(out.toString().contains(System.lineSeparator() + "next "));
+
+        assertThrows(IllegalStateException.class, () -> inner.stop(1));
+        outer.start();
+        assertThrows(IllegalStateException.class, outer::start);
+        outer.stop();
+    }
+
+    // Verifies that the disabled profiler is inert.
+    @Test
+    void disabledProfiler_recordsNothing() {
+        StageProfiler profiler = StageProfiler.disabled();
+        StageProfiler.Timer timer = profiler.timer("anything");
+        timer.start();
+        timer.addBytes(100);
+        timer.stop(5);
+        assertEquals(42, profiler.time("stage", 1, () -> 42));
+
+        assertFalse(profiler.isEnabled());
+        assertTrue(profiler.getTimers().isEmpty());
+        assertEquals(0, timer.getCalls());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.printReport(new PrintStream(out));
+        assertEquals(0, out.size());
+    }
+
+    // Verifies the CSV loading breakdown.
+    @Test
+    void profiledLoad_reportsEveryStage() throws Exception {
+        Path csv = dir.resolve("synthetic.csv");
+        new SyntheticDatasetGenerator(9L, 20, 5, 50).generate(csv, 1_000, 1);
+
+        StageProfiler profiler = StageProfiler.enabled();
+        List<BankTransaction> txs = new BankTransactionRepository(csv, profiler).findAll();
+        assertEquals(1_000, txs.size());
+
+        Map<String, StageProfiler.Timer> stages = byName(profiler);
+        assertEquals(1_000, stages.get("load CSV").getRows());
+        assertEquals(1_000, stages.get("tokenize CSV").getRows());
+        assertEquals(1_000, stages.get("build transactions").getRows());
+        assertEquals(1_000, stages.get("parse dates").getRows());
+        // 1,000 rows fit in one batch; tokenizing runs once more to find the end of the file
+        assertEquals(1, stages.get("build transactions").getCalls());
+        assertEquals(1, stages.get("parse dates").getCalls());
+        assertEquals(2, stages.get("tokenize CSV").getCalls());
+        assertEquals(Files.size(csv), stages.get("read file").getBytes());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.printReport(new PrintStream(out));
+        assertTrue(out.toString().contains("  tokenize CSV"));
+    }
+
+    // Verifies that a malformed row does not leave stages running.
+    @Test
+    void profiledLoad_stopsStagesOnFailure() throws Exception {
+        Path csv = dir.resolve("broken.csv");
+        new SyntheticDatasetGenerator(9L, 20, 5, 50).generate(csv, 10, 1);
+        List<String> lines = new ArrayList<>(Files.readAllLines(csv));
+        String[] fields = lines.get(5).split(",", -1);
+        fields[2] = "not a date";
+        lines.set(5, String.join(",", fields));
+        Files.write(csv, lines);
+
+        StageProfiler profiler = StageProfiler.enabled();
+        BankTransactionRepository repository = new BankTransactionRepository(csv, profiler);
+        assertThrows(RuntimeException.class, repository::findAll);
+
+        Map<String, StageProfiler.Timer> stages = byName(profiler);
+        assertEquals(1, stages.get("load CSV").getCalls());
+        assertEquals(1, stages.get("parse dates").getCalls());
+        assertFalse(stages.containsKey("build transactions"));
+
+        // Nothing is left on the stack, so the next stage is top-level again
+        profiler.time("after", 0, () -> null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.printReport(new PrintStream(out));
+        assertTrue(out.toString().contains(System.lineSeparator() + "after "));
+    }
+
+    // Verifies that profiled reports are recorded and unchanged.
+    @Test
+    void profiledService_recordsReports() {
+        List<BankTransaction> txs = new BankTransactionRepository(Path.of("data", "bankTransactionsDataset.csv")).findAll();
+        StageProfiler profiler = StageProfiler.enabled();
+        BankingAnalyticsService profiled = new BankingAnalyticsService(txs, profiler);
+        BankingAnalyticsService plain = new BankingAnalyticsService(txs);
+
+        assertEquals(plain.totalAmountByCategory(), profiled.totalAmountByCategory());
+        assertEquals(plain.totalFraudulentAmount(), profiled.totalFraudulentAmount());
+        assertEquals(plain.largestTransaction(), profiled.largestTransaction());
+
+        Map<String, StageProfiler.Timer> stages = byName(profiler);
+        assertEquals(txs.size(), stages.get("build columns").getRows());
+        assertEquals(1, stages.get("total by category").getCalls());
+        assertEquals(1, stages.get("fraudulent total").getCalls());
+        assertEquals(1, stages.get("largest transaction").getCalls());
+    }
+
+    private static Map<String, StageProfiler.Timer> byName(StageProfiler profiler) {
+        return profiler.getTimers().stream().collect(Collectors.toMap(StageProfiler.Timer::getName, Function.identity()));
+    }
+}
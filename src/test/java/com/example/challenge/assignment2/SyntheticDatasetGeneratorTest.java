@@ -0,0 +1,80 @@
+package com.example.challenge.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the synthetic dataset generator.
+ *
+ * This suite verifies:
+ * 1. The same seed yields byte-identical files regardless of thread count
+ * 2. Generated files load through BankTransactionRepository with the configured cardinalities
+ * 3. Merchants follow a skewed (Zipf) popularity distribution
+ */
+class SyntheticDatasetGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    // Verifies that output depends on the seed only, not on how many threads wrote it.
+    @Test
+    void generate_isDeterministicAcrossThreadCounts() throws Exception {
+        long rows = SyntheticDatasetGenerator.CHUNK_ROWS * 2L + 123;
+        SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(7L, 500, 20, 1_000);
+
+        Path single = dir.resolve("single.csv");
+        Path parallel = dir.resolve("parallel.csv");
+        generator.generate(single, rows, 1);
+        generator.generate(parallel, rows, 4);
+        assertEquals(-1, Files.mismatch(single, parallel));
+
+        Path otherSeed = dir.resolve("other.csv");
+        new SyntheticDatasetGenerator(8L, 500, 20, 1_000).generate(otherSeed, rows, 4);
+        assertNotEquals(-1, Files.mismatch(single, otherSeed));
+    }
+
+    // Verifies that the file parses with the existing repository and respects the configuration.
+    @Test
+    void generate_isParseableWithConfiguredCardinalities() throws Exception {
+        Path file = dir.resolve("small.csv");
+        new SyntheticDatasetGenerator(42L, 50, 12, 200).generate(file, 5_000, 2);
+
+        assertEquals(SyntheticDatasetGenerator.HEADER, Files.readAllLines(file).get(0));
+        List<BankTransaction> txs = new BankTransactionRepository(file).findAll();
+        assertEquals(5_000, txs.size());
+
+        assertTrue(txs.stream().map(BankTransaction::getMerchantName).distinct().count() <= 50);
+        assertTrue(txs.stream().map(BankTransaction::getCity).distinct().count() <= 12);
+        assertTrue(txs.stream().map(BankTransaction::getAccountNumber).distinct().count() <= 200);
+        assertTrue(txs.stream().allMatch(tx -> tx.getTransactionAmount() >= 1.0
+                && tx.getAccountNumber().length() == 18
+                && tx.getTransactionId().length() == 36));
+
+        long fraudulent = txs.stream().filter(BankTransaction::isFraudulent).count();
+        assertTrue(fraudulent > 0 && fraudulent < 500, "fraud should be rare, was " + fraudulent);
+    }
+
+    // Verifies that the most popular merchant is far busier than a typical one.
+    @Test
+    void generate_skewsMerchantPopularity() throws Exception {
+        Path file = dir.resolve("skew.csv");
+        new SyntheticDatasetGenerator(1L, 1_000, 10, 100).generate(file, 20_000, 1);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (BankTransaction tx : new BankTransactionRepository(file).findAll()) {
+            counts.merge(tx.getMerchantName(), 1, Integer::sum);
+        }
+        int[] sorted = counts.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int top = sorted[sorted.length - 1];
+        int median = sorted[sorted.length / 2];
+        assertTrue(top > 20 * median, "top=" + top + " median=" + median);
+    }
+}
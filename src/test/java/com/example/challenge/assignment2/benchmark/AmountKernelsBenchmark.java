@@ -0,0 +1,153 @@
+package com.example.challenge.assignment2.benchmark;
+
+import com.example.challenge.assignment2.AmountKernels;
+import com.example.challenge.assignment2.BankTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.partitioningBy;
+import static java.util.stream.Collectors.summingDouble;
+
+/**
+ * Amount kernels (scalar and Vector API) against the Stream implementations
+ * they replaced in BankingAnalyticsService:
+ * - fraud total:        filter(isFraudulent).mapToDouble(amount).sum()
+ * - largest amount:     max(comparingDouble(amount))
+ * - per-category sums:  groupingBy(category, summingDouble(amount))
+ * - fraud/legit split:  partitioningBy(isFraudulent, summingDouble(amount))
+ *
+ * The forked JVM always gets --add-modules jdk.incubator.vector, so the
+ * vector variants never silently fall back to scalar code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class AmountKernelsBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private List<BankTransaction> transactions;
+    private double[] amounts;
+    private boolean[] fraudulent;
+    private int[] categoryIds;
+    private int categoryCount;
+    private int[] fraudIds;
+
+    private AmountKernels scalar;
+    private AmountKernels vector;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        BenchmarkData.Columns columns = BenchmarkData.columns(transactions);
+        amounts = columns.amounts;
+        fraudulent = columns.fraudulent;
+        categoryIds = columns.categoryIds;
+        categoryCount = columns.categoryCount;
+        fraudIds = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            fraudIds[i] = fraudulent[i] ? 1 : 0;
+        }
+
+        scalar = AmountKernels.scalar();
+        vector = AmountKernels.vector();
+        if (vector == null) {
+            throw new IllegalStateException("jdk.incubator.vector is not available in the benchmark JVM");
+        }
+    }
+
+    @Benchmark
+    public double fraudTotal_stream() {
+        return transactions.stream()
+                .filter(BankTransaction::isFraudulent)
+                .mapToDouble(BankTransaction::getTransactionAmount)
+                .sum();
+    }
+
+    @Benchmark
+    public double fraudTotal_scalar() {
+        return scalar.maskedSum(amounts, fraudulent);
+    }
+
+    @Benchmark
+    public double fraudTotal_vector() {
+        return vector.maskedSum(amounts, fraudulent);
+    }
+
+    @Benchmark
+    public BankTransaction largest_stream() {
+        return transactions.stream()
+                .max(Comparator.comparingDouble(BankTransaction::getTransactionAmount))
+                .orElse(null);
+    }
+
+    @Benchmark
+    public int largest_scalar() {
+        return scalar.indexOfMax(amounts);
+    }
+
+    @Benchmark
+    public int largest_vector() {
+        return vector.indexOfMax(amounts);
+    }
+
+    @Benchmark
+    public Map<String, Double> categorySums_stream() {
+        return transactions.stream()
+                .collect(groupingBy(BankTransaction::getCategory, summingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    @Benchmark
+    public double[] categorySums_scalar() {
+        double[] sums = new double[categoryCount];
+        scalar.groupedSum(amounts, categoryIds, sums, new long[categoryCount]);
+        return sums;
+    }
+
+    @Benchmark
+    public double[] categorySums_vector() {
+        double[] sums = new double[categoryCount];
+        vector.groupedSum(amounts, categoryIds, sums, new long[categoryCount]);
+        return sums;
+    }
+
+    @Benchmark
+    public Map<Boolean, Double> fraudSplit_stream() {
+        return transactions.stream()
+                .collect(partitioningBy(BankTransaction::isFraudulent, summingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    @Benchmark
+    public double[] fraudSplit_scalar() {
+        double[] sums = new double[2];
+        scalar.groupedSum(amounts, fraudIds, sums, new long[2]);
+        return sums;
+    }
+
+    @Benchmark
+    public double[] fraudSplit_vector() {
+        double[] sums = new double[2];
+        vector.groupedSum(amounts, fraudIds, sums, new long[2]);
+        return sums;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.challenge.assignment2.benchmark;
+
+import com.example.challenge.assignment2.BankTransaction;
+import com.example.challenge.assignment2.BankingAnalyticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every BankingAnalyticsService report at several dataset sizes, three ways:
+ * - stream:   the original sequential Stream pipelines (StreamBaseline)
+ * - parallel: the same pipelines as parallel streams
+ * - columnar: the current service (dictionary-encoded columns + kernels)
+ *
+ * buildService measures the one-off cost the columnar variant pays up front
+ * (columns and time index), so per-query wins can be weighed against it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<BankTransaction> transactions;
+    private StreamBaseline sequential;
+    private StreamBaseline parallel;
+    private BankingAnalyticsService columnar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        sequential = new StreamBaseline(transactions, false);
+        parallel = new StreamBaseline(transactions, true);
+        columnar = new BankingAnalyticsService(transactions);
+    }
+
+    @Benchmark
+    public BankingAnalyticsService buildService() {
+        return new BankingAnalyticsService(transactions);
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByCategory_stream() {
+        return sequential.totalAmountByCategory();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByCategory_parallel() {
+        return parallel.totalAmountByCategory();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByCategory_columnar() {
+        return columnar.totalAmountByCategory();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByCity_stream() {
+        return sequential.totalAmountByCity();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByCity_parallel() {
+        return parallel.totalAmountByCity();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByCity_columnar() {
+        return columnar.totalAmountByCity();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByPaymentMethod_stream() {
+        return sequential.totalAmountByPaymentMethod();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByPaymentMethod_parallel() {
+        return parallel.totalAmountByPaymentMethod();
+    }
+
+    @Benchmark
+    public Map<String, Double> totalByPaymentMethod_columnar() {
+        return columnar.totalAmountByPaymentMethod();
+    }
+
+    @Benchmark
+    public double fraudTotal_stream() {
+        return sequential.totalFraudulentAmount();
+    }
+
+    @Benchmark
+    public double fraudTotal_parallel() {
+        return parallel.totalFraudulentAmount();
+    }
+
+    @Benchmark
+    public double fraudTotal_columnar() {
+        return columnar.totalFraudulentAmount();
+    }
+
+    @Benchmark
+    public BankTransaction largest_stream() {
+        return sequential.largestTransaction();
+    }
+
+    @Benchmark
+    public BankTransaction largest_parallel() {
+        return parallel.largestTransaction();
+    }
+
+    @Benchmark
+    public BankTransaction largest_columnar() {
+        return columnar.largestTransaction();
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Double>> topMerchants_stream() {
+        return sequential.topMerchantsByTotalAmount(5);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Double>> topMerchants_parallel() {
+        return parallel.topMerchantsByTotalAmount(5);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Double>> topMerchants_columnar() {
+        return columnar.topMerchantsByTotalAmount(5);
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByAgeBand_stream() {
+        return sequential.averageAmountByAgeBand();
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByAgeBand_parallel() {
+        return parallel.averageAmountByAgeBand();
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByAgeBand_columnar() {
+        return columnar.averageAmountByAgeBand();
+    }
+}
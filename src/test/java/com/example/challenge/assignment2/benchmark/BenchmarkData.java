@@ -0,0 +1,79 @@
+package com.example.challenge.assignment2.benchmark;
+
+import com.example.challenge.assignment2.BankTransaction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+ Seeded in-memory transactions for benchmarks, shaped like the Kaggle dataset:
+ 14 categories, 10 cities, 5 payment methods, amounts uniform in [10, 5000],
+ about 5% fraudulent.
+*/
+final class BenchmarkData {
+
+    static final String[] CATEGORIES = {"Utilities", "Entertainment", "Travel", "Clothing", "Education",
+            "Savings", "Food", "Grocery", "Electronics", "Shopping", "Transport", "Fitness", "Healthcare", "Housing"};
+    static final String[] CITIES = {"Chicago", "San Jose", "Los Angeles", "Dallas", "San Antonio",
+            "New York", "Philadelphia", "Houston", "Phoenix", "San Diego"};
+    static final String[] PAYMENT_METHODS = {"E-Wallet", "Credit Card", "Debit Card", "Online Transfer", "Cash"};
+
+    private BenchmarkData() {
+    }
+
+    static List<BankTransaction> transactions(int rows) {
+        SplittableRandom random = new SplittableRandom(20240421L);
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        List<BankTransaction> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new BankTransaction(
+                    "T" + i,
+                    "ACC" + random.nextInt(Math.max(1, rows / 5)),
+                    start.plusSeconds(random.nextLong(2L * 365 * 24 * 3600)),
+                    Math.round(random.nextDouble(10.0, 5000.0) * 100) / 100.0,
+                    random.nextBoolean() ? "Debit" : "Credit",
+                    18 + random.nextInt(53),
+                    random.nextBoolean() ? "Male" : "Female",
+                    random.nextDouble(20_000.0, 150_000.0),
+                    random.nextDouble(0.0, 20_000.0),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    "Merchant " + random.nextInt(Math.max(1, rows / 10)),
+                    PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)],
+                    CITIES[random.nextInt(CITIES.length)],
+                    random.nextInt(20) == 0,
+                    "Success",
+                    random.nextInt(500),
+                    random.nextBoolean()));
+        }
+        return result;
+    }
+
+    // Primitive columns for kernels that are benchmarked in isolation.
+    static Columns columns(List<BankTransaction> transactions) {
+        Columns columns = new Columns();
+        int n = transactions.size();
+        columns.amounts = new double[n];
+        columns.fraudulent = new boolean[n];
+        columns.categoryIds = new int[n];
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            BankTransaction tx = transactions.get(i);
+            columns.amounts[i] = tx.getTransactionAmount();
+            columns.fraudulent[i] = tx.isFraudulent();
+            columns.categoryIds[i] = ids.computeIfAbsent(tx.getCategory(), key -> ids.size());
+        }
+        columns.categoryCount = ids.size();
+        return columns;
+    }
+
+    static final class Columns {
+        double[] amounts;
+        boolean[] fraudulent;
+        int[] categoryIds;
+        int categoryCount;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.challenge.assignment2.benchmark;
+
+import com.example.challenge.assignment2.BankTransaction;
+import com.example.challenge.assignment2.CompactTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Total amount by payment method over row objects, grouped two ways:
+ * - label: BankTransaction rows, HashMap keyed by the payment-method String
+ * - enum:  CompactTransaction rows, CompactTransaction.totalAmountByPaymentMethod
+ *          (ordinal-indexed sums returned as an EnumMap)
+ *
+ * Both walk a List of objects, so the difference is the key lookup and the
+ * smaller rows, not a columnar layout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CompactGroupingBenchmark {
+
+    @Param({"300000"})
+    public int rows;
+
+    private List<BankTransaction> transactions;
+    private List<CompactTransaction> compact;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        compact = transactions.stream().map(CompactTransaction::of).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<String, Double> byPaymentMethod_label() {
+        return transactions.stream()
+                .collect(Collectors.groupingBy(BankTransaction::getPaymentMethod,
+                        Collectors.summingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    @Benchmark
+    public Map<CompactTransaction.PaymentMethod, Double> byPaymentMethod_enum() {
+        return CompactTransaction.totalAmountByPaymentMethod(compact);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.challenge.assignment2.benchmark;
+
+import com.example.challenge.assignment2.BankTransaction;
+import com.example.challenge.assignment2.BankTransactionRepository;
+import com.example.challenge.assignment2.CompactTransaction;
+import com.example.challenge.assignment2.PrefetchingInputStream;
+import com.example.challenge.assignment2.StageProfiler;
+import com.example.challenge.assignment2.SyntheticDatasetGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BankTransactionRepository.findAll and findAllCompact over synthetic CSVs of several sizes.
+ *
+ * The primary score is files/sec; the LoadCounters secondary results turn that
+ * into rows/sec and MB/sec. Per-row allocation comes from the GC profiler
+ * (enabled by the bench profile): gc.alloc.rate.norm is bytes per load, so
+ * divide by `rows`. readAheadBlocks = 0 reads synchronously; otherwise the file is
+ * prefetched in 8 MB blocks on a background thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CsvLoadBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    @Param({"0", "2"})
+    public int readAheadBlocks;
+
+    private Path csv;
+    private double megabytes;
+    private BankTransactionRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csv = Files.createTempFile("bench-transactions-", ".csv");
+        new SyntheticDatasetGenerator(42L, 5_000, 50, Math.max(1, rows / 20))
+                .generate(csv, rows, Runtime.getRuntime().availableProcessors());
+        megabytes = Files.size(csv) / (1024.0 * 1024.0);
+        repository = new BankTransactionRepository(csv, StageProfiler.disabled(),
+                PrefetchingInputStream.DEFAULT_BLOCK_SIZE, readAheadBlocks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class LoadCounters {
+        public long rows;
+        public double megabytes;
+    }
+
+    @Benchmark
+    public List<BankTransaction> findAll(LoadCounters counters) {
+        List<BankTransaction> loaded = repository.findAll();
+        counters.rows += loaded.size();
+        counters.megabytes += megabytes;
+        return loaded;
+    }
+
+    @Benchmark
+    public List<CompactTransaction> findAllCompact(LoadCounters counters) {
+        List<CompactTransaction> loaded = repository.findAllCompact();
+        counters.rows += loaded.size();
+        counters.megabytes += megabytes;
+        return loaded;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.challenge.assignment2.benchmark;
+
+import com.example.challenge.assignment2.BankTransaction;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.averagingDouble;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.summingDouble;
+
+/*
+ The original Stream-based BankingAnalyticsService, kept as the baseline the columnar
+ service is measured against. With parallel=true every pipeline runs as a parallel
+ stream, which is the cheapest "parallel variant" of the original code.
+*/
+final class StreamBaseline {
+
+    private final List<BankTransaction> transactions;
+    private final boolean parallel;
+
+    StreamBaseline(List<BankTransaction> transactions, boolean parallel) {
+        this.transactions = List.copyOf(transactions);
+        this.parallel = parallel;
+    }
+
+    Map<String, Double> totalAmountByCategory() {
+        return stream().collect(groupingBy(BankTransaction::getCategory, summingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    Map<String, Double> totalAmountByCity() {
+        return stream().collect(groupingBy(BankTransaction::getCity, summingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    Map<String, Double> totalAmountByPaymentMethod() {
+        return stream().collect(groupingBy(BankTransaction::getPaymentMethod, summingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    double totalFraudulentAmount() {
+        return stream().filter(BankTransaction::isFraudulent).mapToDouble(BankTransaction::getTransactionAmount).sum();
+    }
+
+    BankTransaction largestTransaction() {
+        return stream().max(Comparator.comparingDouble(BankTransaction::getTransactionAmount)).orElse(null);
+    }
+
+    List<Map.Entry<String, Double>> topMerchantsByTotalAmount(int limit) {
+        Map<String, Double> totalByMerchant = stream()
+                .collect(groupingBy(BankTransaction::getMerchantName, summingDouble(BankTransaction::getTransactionAmount)));
+        return totalByMerchant.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    Map<String, Double> averageAmountByAgeBand() {
+        return stream().collect(groupingBy(tx -> toAgeBand(tx.getCustomerAge()),
+                averagingDouble(BankTransaction::getTransactionAmount)));
+    }
+
+    private Stream<BankTransaction> stream() {
+        return parallel ? transactions.parallelStream() : transactions.stream();
+    }
+
+    private static String toAgeBand(int age) {
+        if (age <= 0) {
+            return "Unknown";
+        } else if (age <= 25) {
+            return "18-25";
+        } else if (age <= 35) {
+            return "26-35";
+        } else if (age <= 50) {
+            return "36-50";
+        } else {
+            return "50+";
+        }
+    }
+}